@@ -0,0 +1,77 @@
+package com.politask.benchmark;
+
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.util.JwtUtil;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+final class BenchmarkFixtures {
+
+    static final String SECRET = "mySecretKey123456789012345678901234567890";
+    static final String EMAIL = "bench@politask.com";
+
+    private BenchmarkFixtures() {
+    }
+
+    // Replica la inyección de @Value y el @PostConstruct de Spring
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secretKey", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86400000L);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Usuario " + id);
+        user.setEmail("user" + id + "@politask.com");
+        user.setPasswordHash("$2a$10$abcdefghijklmnopqrstuuFakeHashForBenchmarksOnly000000");
+        return user;
+    }
+
+    static Project project(int tasks, int commentsPerTask) {
+        User owner = user(1);
+        Project project = new Project();
+        project.setId(1L);
+        project.setName("Proyecto de benchmark");
+        project.setDescription("Proyecto con " + tasks + " tareas");
+        project.setOwner(owner);
+        project.setProjectUsers(new ArrayList<>());
+
+        List<Task> taskList = new ArrayList<>(tasks);
+        long commentId = 1;
+        for (int i = 0; i < tasks; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Tarea " + i);
+            task.setDescription("Descripción de la tarea " + i + " con algo de texto para que el payload sea realista.");
+            task.setStatus(i % 3 == 0 ? "DONE" : "PENDING");
+            task.setPriority(i % 2 == 0 ? "HIGH" : "LOW");
+            task.setDueDate(LocalDateTime.now().plusDays(i % 30));
+            task.setProject(project);
+            task.setAssignee(user(2 + i % 10));
+
+            List<Comment> comments = new ArrayList<>(commentsPerTask);
+            for (int c = 0; c < commentsPerTask; c++) {
+                Comment comment = new Comment();
+                comment.setId(commentId++);
+                comment.setTask(task);
+                comment.setUser(user(2 + c % 10));
+                comment.setContent("Comentario " + c + " sobre la tarea " + i);
+                comments.add(comment);
+            }
+            task.setComments(comments);
+            taskList.add(task);
+        }
+        project.setTasks(taskList);
+        return project;
+    }
+}
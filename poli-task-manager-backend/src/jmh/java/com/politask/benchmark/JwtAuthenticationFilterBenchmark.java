@@ -0,0 +1,62 @@
+package com.politask.benchmark;
+
+import com.politask.config.JwtAuthenticationFilter;
+import com.politask.util.JwtTokenCache;
+import com.politask.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Petición autenticada completa a través del filtro JWT. Con cacheSize=0 cada
+ * petición verifica la firma y consulta el UserDetailsService (simulado, sin BD).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"0", "10000"})
+    public long cacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setup() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        UserDetails principal = new User(BenchmarkFixtures.EMAIL, "hash", List.of());
+        UserDetailsService userDetailsService = email -> principal;
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        JwtTokenCache tokenCache = new JwtTokenCache(jwtUtil, userDetailsService, meterRegistry,
+                cacheSize, Duration.ofMinutes(15));
+        filter = new JwtAuthenticationFilter(tokenCache, meterRegistry);
+        authorization = "Bearer " + jwtUtil.generateToken(BenchmarkFixtures.EMAIL, 42L);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,60 @@
+package com.politask.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.politask.dto.ProjectSummary;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int tasks;
+
+    @Param({"0", "5"})
+    public int commentsPerTask;
+
+    private ObjectMapper objectMapper;
+    private Project project;
+    private List<Task> taskList;
+    private List<ProjectSummary> summaries;
+
+    @Setup
+    public void setup() {
+        // Misma configuración base que el ObjectMapper de Spring Boot (JavaTimeModule, etc.)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        project = BenchmarkFixtures.project(tasks, commentsPerTask);
+        taskList = project.getTasks();
+        summaries = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            summaries.add(new ProjectSummary((long) i, "Proyecto " + i, "Descripción " + i, 1L, "Owner",
+                    project.getCreatedAt(), project.getUpdatedAt(), 20L, 5L, 4L));
+        }
+    }
+
+    @Benchmark
+    public byte[] projectGraph() throws Exception {
+        return objectMapper.writeValueAsBytes(project);
+    }
+
+    @Benchmark
+    public byte[] taskList() throws Exception {
+        return objectMapper.writeValueAsBytes(taskList);
+    }
+
+    @Benchmark
+    public byte[] projectSummaries() throws Exception {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,92 @@
+package com.politask.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.politask.dto.CursorPage;
+import com.politask.dto.ProjectSummary;
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de CPU de serializar las páginas de los listados grandes en JSON,
+ * CBOR y Smile, con y sin la compresión gzip que aplica Tomcat. Los bytes
+ * que viajan por la red de cada combinación los mide
+ * {@code LoadTestRunner --embedded --wire-sizes} contra el servidor real.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"50", "200"})
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean gzip;
+
+    private ObjectMapper objectMapper;
+    private CursorPage<Task> tasksPage;
+    private List<ProjectSummary> projects;
+    private CursorPage<Comment> commentsPage;
+
+    @Setup
+    public void setup() {
+        // Mismos builders que los convertidores de WebConfig
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        Project project = BenchmarkFixtures.project(rows, 1);
+        tasksPage = new CursorPage<>(project.getTasks(), "MjAyNi0wMS0wMVQwMDowMDowMHwxMjM0");
+        projects = new ArrayList<>(rows);
+        List<Comment> comments = new ArrayList<>(rows);
+        for (Task task : project.getTasks()) {
+            projects.add(new ProjectSummary(task.getId(), "Proyecto " + task.getId(), task.getDescription(),
+                    1L, "Owner", project.getCreatedAt(), project.getUpdatedAt(), 20L, 5L, 4L));
+            comments.addAll(task.getComments());
+        }
+        commentsPage = new CursorPage<>(comments, null);
+    }
+
+    @Benchmark
+    public byte[] tasksByProject() throws IOException {
+        return write(tasksPage);
+    }
+
+    @Benchmark
+    public byte[] projectSummaries() throws IOException {
+        return write(projects);
+    }
+
+    @Benchmark
+    public byte[] commentsByTask() throws IOException {
+        return write(commentsPage);
+    }
+
+    private byte[] write(Object value) throws IOException {
+        if (!gzip) {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream compressed = new GZIPOutputStream(out)) {
+            objectMapper.writeValue(compressed, value);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,131 @@
+package com.politask.loadtest;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bytes asignados en el heap por el backend, leídos al empezar y al terminar
+ * la medida para obtener la tasa de asignación.
+ */
+abstract class AllocationMeter {
+
+    /** Total acumulado desde el arranque, o -1 si no se puede medir. */
+    abstract long serverAllocatedBytes();
+
+    abstract String source();
+
+    /** Hilos de plataforma para el generador; los hilos virtuales no permiten medir sus asignaciones. */
+    ThreadFactory generatorThreads(String prefix) {
+        return Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+    }
+
+    /**
+     * Backend embebido: asignaciones de toda la JVM menos las de los hilos del
+     * generador (los creados con {@link #generatorThreads}, el hilo actual y
+     * los hilos internos del HttpClient).
+     */
+    static AllocationMeter inProcess() {
+        return new InProcess();
+    }
+
+    /**
+     * Backend externo: contador jvm.gc.memory.allocated de actuator. Solo
+     * avanza en cada GC, así que conviene medir durante decenas de segundos.
+     */
+    static AllocationMeter actuator(HttpClient client, String baseUrl) {
+        return new Actuator(client, baseUrl);
+    }
+
+    private static final class InProcess extends AllocationMeter {
+
+        private final com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        private final Set<Thread> generator = ConcurrentHashMap.newKeySet();
+        private final LongAdder exitedGeneratorBytes = new LongAdder();
+
+        InProcess() {
+            threads.setThreadAllocatedMemoryEnabled(true);
+            generator.add(Thread.currentThread());
+        }
+
+        @Override
+        ThreadFactory generatorThreads(String prefix) {
+            ThreadFactory platform = super.generatorThreads(prefix);
+            return task -> platform.newThread(() -> {
+                generator.add(Thread.currentThread());
+                try {
+                    task.run();
+                } finally {
+                    exitedGeneratorBytes.add(threads.getCurrentThreadAllocatedBytes());
+                    generator.remove(Thread.currentThread());
+                }
+            });
+        }
+
+        @Override
+        long serverAllocatedBytes() {
+            long generatorBytes = exitedGeneratorBytes.sum();
+            for (Thread thread : generator) {
+                generatorBytes += Math.max(0, threads.getThreadAllocatedBytes(thread.threadId()));
+            }
+            // El SelectorManager del HttpClient lo crea el JDK, no nuestra factoría
+            for (Thread thread : Thread.getAllStackTraces().keySet()) {
+                if (thread.getName().startsWith("HttpClient-")) {
+                    generatorBytes += Math.max(0, threads.getThreadAllocatedBytes(thread.threadId()));
+                }
+            }
+            return threads.getTotalThreadAllocatedBytes() - generatorBytes;
+        }
+
+        @Override
+        String source() {
+            return "thread-mxbean";
+        }
+    }
+
+    private static final class Actuator extends AllocationMeter {
+
+        private static final Pattern VALUE = Pattern.compile("\"value\"\\s*:\\s*([0-9.Ee+-]+)");
+
+        private final HttpClient client;
+        private final HttpRequest request;
+
+        Actuator(HttpClient client, String baseUrl) {
+            this.client = client;
+            this.request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/metrics/jvm.gc.memory.allocated"))
+                    .timeout(Duration.ofSeconds(5))
+                    .GET()
+                    .build();
+        }
+
+        @Override
+        long serverAllocatedBytes() {
+            try {
+                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                Matcher matcher = VALUE.matcher(response.body());
+                return response.statusCode() == 200 && matcher.find() ? (long) Double.parseDouble(matcher.group(1)) : -1;
+            } catch (IOException e) {
+                return -1;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+
+        @Override
+        String source() {
+            return "actuator";
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.politask.loadtest;
+
+import com.politask.PoliTaskManagerApplication;
+import com.politask.datasource.ReadWriteRoutingDataSource;
+import com.politask.stats.ProjectStatsService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Backend completo arrancado en el mismo proceso que el generador, con el
+ * perfil "loadtest" (H2 en modo MySQL, ver application-loadtest.properties)
+ * más los perfiles extra indicados, p. ej. "virtual-threads" o
+ * "loadtest-replica" (réplica de lectura en una segunda base H2).
+ */
+final class EmbeddedBackend implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedBackend start(String extraProfiles) {
+        List<String> profiles = new ArrayList<>(List.of("loadtest"));
+        if (extraProfiles != null && !extraProfiles.isBlank()) {
+            for (String profile : extraProfiles.split(",")) {
+                profiles.add(profile.trim());
+            }
+        }
+        return new EmbeddedBackend(new SpringApplicationBuilder(PoliTaskManagerApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run());
+    }
+
+    String baseUrl() {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        return "http://localhost:" + port;
+    }
+
+    Workload seed(WorkloadSeeder.Spec spec) {
+        WorkloadSeeder seeder = new WorkloadSeeder(context.getBean(JdbcTemplate.class),
+                context.getBean(PasswordEncoder.class), context.getBean(ProjectStatsService.class));
+        Workload workload = seeder.seed(spec);
+        context.getBeanProvider(ReadWriteRoutingDataSource.class).ifAvailable(this::copyToReplicas);
+        return workload;
+    }
+
+    // Instantánea del primario cargada en cada réplica (H2 SCRIPT / RUNSCRIPT)
+    private void copyToReplicas(ReadWriteRoutingDataSource routing) {
+        try {
+            Path script = Files.createTempFile("politask-loadtest-", ".sql");
+            try {
+                context.getBean(JdbcTemplate.class).execute("SCRIPT TO '" + script + "'");
+                routing.getReplicaDataSources().values()
+                        .forEach(replica -> new JdbcTemplate(replica).execute("RUNSCRIPT FROM '" + script + "'"));
+            } finally {
+                Files.deleteIfExists(script);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,130 @@
+package com.politask.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mezcla ponderada de endpoints reales sobre los datos sembrados, p. ej.
+ * {@code login:2,projects:20,project-tasks:48,task-comments:30}. Cada petición
+ * sale de un usuario con sesión elegido con sesgo Zipf, sobre uno de sus
+ * proyectos y una de las tareas de ese proyecto, también con sesgo.
+ */
+final class EndpointMix implements LoadTestRunner.RequestSource {
+
+    static final String DEFAULT_MIX = "login:2,projects:20,project-tasks:48,task-comments:30";
+
+    enum Endpoint {
+        LOGIN("login"),
+        PROJECTS("projects"),
+        PROJECT_TASKS("project-tasks"),
+        TASK_COMMENTS("task-comments");
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        static Endpoint of(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Endpoint desconocido en la mezcla: " + key);
+        }
+    }
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final String baseUrl;
+    private final Workload workload;
+    private final String[] tokens;
+    private final Endpoint[] endpoints;
+    private final double[] cumulativeWeights;
+
+    /**
+     * @param tokens JWT de los usuarios con sesión; el índice i corresponde al usuario con id i + 1
+     */
+    EndpointMix(String spec, String baseUrl, Workload workload, String[] tokens) {
+        this.baseUrl = baseUrl;
+        this.workload = workload;
+        this.tokens = tokens;
+
+        Map<Endpoint, Double> weights = new LinkedHashMap<>();
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            double weight = parts.length > 1 ? Double.parseDouble(parts[1]) : 1.0;
+            if (weight > 0) {
+                weights.merge(Endpoint.of(parts[0].trim()), weight, Double::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla de endpoints está vacía: " + spec);
+        }
+        List<Endpoint> keys = new ArrayList<>(weights.keySet());
+        this.endpoints = keys.toArray(Endpoint[]::new);
+        this.cumulativeWeights = new double[endpoints.length];
+        double total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += weights.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            cumulativeWeights[i] /= total;
+        }
+    }
+
+    @Override
+    public LoadTestRunner.Call next(RandomGenerator random) {
+        Endpoint endpoint = pick(random.nextDouble());
+        double skew = workload.skew();
+        int user = Zipf.sample(random, tokens.length, skew);
+        return switch (endpoint) {
+            case LOGIN -> {
+                // Cualquier usuario sembrado, no solo los que tienen sesión
+                String email = workload.emails()[Zipf.sample(random, workload.users(), skew)];
+                String body = "{\"email\":\"" + email + "\",\"password\":\"" + workload.password() + "\"}";
+                yield new LoadTestRunner.Call(endpoint.key, HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                        .timeout(TIMEOUT)
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+            }
+            case PROJECTS -> get(endpoint, "/api/projects", user);
+            case PROJECT_TASKS -> get(endpoint, "/api/tasks/project/" + projectOf(random, user), user);
+            case TASK_COMMENTS -> {
+                long[] tasks = workload.tasksOf(projectOf(random, user));
+                yield get(endpoint, "/api/comments/task/" + tasks[Zipf.sample(random, tasks.length, skew)], user);
+            }
+        };
+    }
+
+    private long projectOf(RandomGenerator random, int user) {
+        long[] projects = workload.projectsOf(user);
+        return projects[Zipf.sample(random, projects.length, workload.skew())];
+    }
+
+    private LoadTestRunner.Call get(Endpoint endpoint, String path, int user) {
+        return new LoadTestRunner.Call(endpoint.key, HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(TIMEOUT)
+                .header("Authorization", "Bearer " + tokens[user])
+                .GET()
+                .build());
+    }
+
+    private Endpoint pick(double u) {
+        for (int i = 0; i < cumulativeWeights.length - 1; i++) {
+            if (u < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        return endpoints[endpoints.length - 1];
+    }
+}
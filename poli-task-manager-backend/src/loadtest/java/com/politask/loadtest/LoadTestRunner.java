@@ -0,0 +1,419 @@
+package com.politask.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generador de carga contra el backend. Dos formas de uso:
+ *
+ * <p>Contra un backend ya arrancado, p. ej. para comparar el modo de hilos de
+ * plataforma con el perfil virtual-threads:
+ *
+ * <pre>
+ * java -jar target/*.jar                                          # modo plataforma
+ * mvn -Ploadtest compile exec:java -Dexec.args="--label platform --email a@b.com --password secret"
+ * java -jar target/*.jar --spring.profiles.active=virtual-threads # modo virtual
+ * mvn -Ploadtest compile exec:java -Dexec.args="--label virtual --email a@b.com --password secret"
+ * mvn -Ploadtest compile exec:java -Dexec.args="--compare"
+ * </pre>
+ *
+ * <p>Autocontenido y sin red ({@code --embedded}): arranca el backend en este
+ * mismo proceso sobre H2 en modo MySQL, siembra datos con sesgo Zipf
+ * ({@link WorkloadSeeder}) y lanza una mezcla de endpoints reales
+ * ({@link EndpointMix}) a un ritmo fijo:
+ *
+ * <pre>
+ * mvn -Ploadtest compile exec:java -Dexec.args="--embedded --rps 500 --label h2-500"
+ * mvn -Ploadtest compile exec:java -Dexec.args="--embedded --rps 500 --profiles virtual-threads \
+ *     --users 5000 --tasks 200000 --mix login:1,project-tasks:60,task-comments:39"
+ * mvn -Ploadtest compile exec:java -Dexec.args="--embedded --rps 500 --profiles loadtest-replica --label h2-replica"
+ * </pre>
+ *
+ * <p>Con {@code --embedded --wire-sizes} no se genera carga: se miden los bytes
+ * de los listados en JSON, CBOR y Smile, con y sin gzip ({@link WireSizeReport}).
+ *
+ * <p>Con {@code --rps} la carga es de bucle abierto: las peticiones salen a su
+ * hora aunque el servidor se retrase y la latencia se mide desde esa hora
+ * prevista (sin omisión coordinada). Sin {@code --rps}, {@code --concurrency}
+ * clientes en bucle cerrado. Además de throughput y percentiles (globales y
+ * por endpoint) se informa la tasa de asignación de memoria del backend.
+ *
+ * <p>Cada ejecución añade una línea JSON a {@code target/loadtest-results.jsonl}.
+ */
+public class LoadTestRunner {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    /** Petición a lanzar y el nombre con el que se agrupan sus latencias. */
+    record Call(String endpoint, HttpRequest request) {
+    }
+
+    /** Origen de peticiones; se llama desde varios hilos a la vez. */
+    interface RequestSource {
+        Call next(RandomGenerator random);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        Path out = Path.of(options.getOrDefault("out", "target/loadtest-results.jsonl"));
+        if (options.containsKey("compare")) {
+            compare(out);
+            return;
+        }
+
+        boolean embedded = options.containsKey("embedded");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "200"));
+        Double rps = options.containsKey("rps") ? Double.valueOf(options.get("rps")) : null;
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "2000"));
+        Duration warmup = Duration.parse(options.getOrDefault("warmup", "PT5S"));
+        Duration duration = Duration.parse(options.getOrDefault("duration", "PT30S"));
+        String label = options.getOrDefault("label", embedded ? "embedded" : "run");
+
+        AllocationMeter allocation = embedded ? AllocationMeter.inProcess() : null;
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()),
+                allocation != null ? allocation.generatorThreads("loadgen-http-") : Thread.ofPlatform().daemon(true).factory());
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(clientExecutor)
+                .build();
+
+        EmbeddedBackend backend = null;
+        try {
+            RequestSource source;
+            if (embedded) {
+                long started = System.nanoTime();
+                backend = EmbeddedBackend.start(options.get("profiles"));
+                Workload workload = backend.seed(WorkloadSeeder.Spec.from(options));
+                System.out.printf(Locale.ROOT, "Backend embebido en %s con %d usuarios sembrados (%d ms)%n",
+                        backend.baseUrl(), workload.users(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                int sessions = Math.min(workload.users(), Integer.parseInt(options.getOrDefault("sessions", "200")));
+                String[] tokens = openSessions(client, backend.baseUrl(), workload, sessions,
+                        allocation.generatorThreads("loadgen-login-"));
+                if (options.containsKey("wire-sizes")) {
+                    append(out, WireSizeReport.run(client, backend.baseUrl(), workload, tokens[0], label));
+                    return;
+                }
+                source = new EndpointMix(options.getOrDefault("mix", EndpointMix.DEFAULT_MIX),
+                        backend.baseUrl(), workload, tokens);
+            } else {
+                String baseUrl = options.getOrDefault("base-url", "http://localhost:8081");
+                String token = options.containsKey("email")
+                        ? login(client, baseUrl, options.get("email"), options.getOrDefault("password", ""))
+                        : null;
+                List<String> paths = List.of(options.getOrDefault("paths", "/api/projects,/api/tasks?size=50").split(","));
+                source = paths(baseUrl, token, paths);
+                // Actuator escucha en el puerto de gestión (management.server.port), no en base-url
+                allocation = AllocationMeter.actuator(client, options.getOrDefault("management-url", "http://localhost:8082"));
+            }
+
+            Result result = rps != null
+                    ? runOpenLoop(client, source, rps, maxInFlight, warmup, duration, allocation)
+                    : run(client, source, concurrency, warmup, duration, allocation);
+            String json = result.toJson(label, rps != null ? "open" : "closed", rps != null ? rps : concurrency);
+            System.out.println(json);
+            append(out, json);
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private static void append(Path out, String json) throws IOException {
+        Files.createDirectories(out.toAbsolutePath().getParent());
+        Files.writeString(out, json + System.lineSeparator(),
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    /** Bucle cerrado: cada cliente lanza la siguiente petición al recibir la respuesta. */
+    static Result run(HttpClient client, RequestSource source, int concurrency,
+                      Duration warmup, Duration duration, AllocationMeter allocation) throws InterruptedException {
+        Measurement measurement = new Measurement(warmup, duration);
+        try (ExecutorService workers = Executors.newThreadPerTaskExecutor(allocation.generatorThreads("loadgen-worker-"))) {
+            for (int w = 0; w < concurrency; w++) {
+                workers.submit(() -> {
+                    RandomGenerator random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < measurement.deadline) {
+                        Call call = source.next(random);
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = client.send(call.request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        measurement.record(call.endpoint(), start, status);
+                    }
+                });
+            }
+            measurement.meterAllocation(allocation);
+        }
+        return measurement.result(allocation);
+    }
+
+    /**
+     * Bucle abierto: una petición cada 1/rps segundos. La latencia se mide desde
+     * la hora prevista de envío; si hay {@code maxInFlight} peticiones sin
+     * respuesta el planificador espera y ese retraso cuenta en la latencia.
+     */
+    static Result runOpenLoop(HttpClient client, RequestSource source, double rps, int maxInFlight,
+                              Duration warmup, Duration duration, AllocationMeter allocation) throws InterruptedException {
+        Measurement measurement = new Measurement(warmup, duration);
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rps);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        Thread scheduler = allocation.generatorThreads("loadgen-scheduler-").newThread(() -> {
+            RandomGenerator random = ThreadLocalRandom.current();
+            for (long intended = measurement.start; intended < measurement.deadline; intended += interval) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Call call = source.next(random);
+                try {
+                    inFlight.acquire();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long scheduledAt = intended;
+                client.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                        .whenComplete((response, error) -> {
+                            inFlight.release();
+                            measurement.record(call.endpoint(), scheduledAt, error == null ? response.statusCode() : -1);
+                        });
+            }
+        });
+        scheduler.start();
+        measurement.meterAllocation(allocation);
+        scheduler.join();
+        // Esperar a las respuestas pendientes (como mucho el timeout de las peticiones)
+        if (inFlight.tryAcquire(maxInFlight, 30, TimeUnit.SECONDS)) {
+            inFlight.release(maxInFlight);
+        }
+        return measurement.result(allocation);
+    }
+
+    /** Inicia sesión con los usuarios más activos; el índice del token es el del usuario. */
+    static String[] openSessions(HttpClient client, String baseUrl, Workload workload, int sessions,
+                                 ThreadFactory threads) throws Exception {
+        String[] tokens = new String[sessions];
+        // Pocos logins a la vez: el pool de BCrypt tiene cola acotada
+        try (ExecutorService pool = Executors.newFixedThreadPool(8, threads)) {
+            List<Future<String>> logins = new ArrayList<>(sessions);
+            for (int i = 0; i < sessions; i++) {
+                String email = workload.emails()[i];
+                logins.add(pool.submit(() -> login(client, baseUrl, email, workload.password())));
+            }
+            for (int i = 0; i < sessions; i++) {
+                tokens[i] = logins.get(i).get();
+            }
+        }
+        return tokens;
+    }
+
+    /** Rutas fijas en turno rotatorio, con el token del usuario indicado en --email. */
+    static RequestSource paths(String baseUrl, String token, List<String> paths) {
+        List<Call> calls = new ArrayList<>();
+        for (String path : paths) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path.trim()))
+                    .timeout(Duration.ofSeconds(30))
+                    .GET();
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            }
+            calls.add(new Call(path.trim(), builder.build()));
+        }
+        AtomicInteger next = new AtomicInteger();
+        return random -> calls.get(Math.floorMod(next.getAndIncrement(), calls.size()));
+    }
+
+    static String login(HttpClient client, String baseUrl, String email, String password)
+            throws IOException, InterruptedException {
+        String body = "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("Login fallido (" + response.statusCode() + "): " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private static void compare(Path out) throws IOException {
+        if (!Files.exists(out)) {
+            System.out.println("No hay resultados en " + out);
+            return;
+        }
+        System.out.printf(Locale.ROOT, "%-20s %12s %10s %10s %10s %12s%n",
+                "label", "req/s", "p50 ms", "p99 ms", "errors", "alloc MB/s");
+        for (String line : Files.readAllLines(out)) {
+            System.out.printf(Locale.ROOT, "%-20s %12s %10s %10s %10s %12s%n",
+                    field(line, "label"), field(line, "throughput"), field(line, "p50Ms"),
+                    field(line, "p99Ms"), field(line, "errors"), field(line, "allocMBps"));
+        }
+    }
+
+    private static String field(String json, String name) {
+        Matcher m = Pattern.compile("\"" + name + "\":\"?([^,\"}]+)").matcher(json);
+        return m.find() ? m.group(1) : "-";
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].startsWith("--")) {
+                String key = args[i].substring(2);
+                boolean hasValue = i + 1 < args.length && !args[i + 1].startsWith("--");
+                options.put(key, hasValue ? args[++i] : "true");
+            }
+        }
+        return options;
+    }
+
+    /** Ventana de medida: histogramas por endpoint y asignaciones al inicio y al final. */
+    private static final class Measurement {
+
+        private final long start = System.nanoTime();
+        private final long measureFrom;
+        private final long deadline;
+        private final Duration duration;
+        private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        private long allocatedBytes = -1;
+
+        Measurement(Duration warmup, Duration duration) {
+            this.measureFrom = start + warmup.toNanos();
+            this.deadline = measureFrom + duration.toNanos();
+            this.duration = duration;
+        }
+
+        void record(String endpoint, long startedAt, int status) {
+            if (startedAt < measureFrom || startedAt >= deadline) {
+                return;
+            }
+            recorders.computeIfAbsent(endpoint, e -> new Recorder(TimeUnit.SECONDS.toNanos(60), 3))
+                    .recordValue(Math.min(System.nanoTime() - startedAt, TimeUnit.SECONDS.toNanos(60)));
+            if (status < 0 || status >= 400) {
+                errors.computeIfAbsent(endpoint, e -> new LongAdder()).increment();
+            }
+        }
+
+        /** Bloquea hasta el final de la ventana leyendo el contador de asignaciones en sus extremos. */
+        void meterAllocation(AllocationMeter allocation) throws InterruptedException {
+            sleepUntil(measureFrom);
+            long before = allocation.serverAllocatedBytes();
+            sleepUntil(deadline);
+            long after = allocation.serverAllocatedBytes();
+            allocatedBytes = before >= 0 && after >= 0 ? after - before : -1;
+        }
+
+        Result result(AllocationMeter allocation) {
+            Histogram total = new Histogram(TimeUnit.SECONDS.toNanos(60), 3);
+            Map<String, EndpointResult> endpoints = new TreeMap<>();
+            long totalErrors = 0;
+            for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+                Histogram histogram = entry.getValue().getIntervalHistogram();
+                long endpointErrors = errors.containsKey(entry.getKey()) ? errors.get(entry.getKey()).sum() : 0;
+                total.add(histogram);
+                totalErrors += endpointErrors;
+                endpoints.put(entry.getKey(), new EndpointResult(histogram, endpointErrors));
+            }
+            return new Result(total, totalErrors, duration, endpoints, allocatedBytes, allocation.source());
+        }
+
+        private static void sleepUntil(long nanoTime) throws InterruptedException {
+            long remaining = nanoTime - System.nanoTime();
+            if (remaining > 0) {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            }
+        }
+    }
+
+    record EndpointResult(Histogram histogram, long errors) {
+    }
+
+    record Result(Histogram histogram, long errors, Duration duration, Map<String, EndpointResult> endpoints,
+                  long allocatedBytes, String allocationSource) {
+
+        double throughput() {
+            return histogram.getTotalCount() / seconds();
+        }
+
+        String toJson(String label, String mode, double load) {
+            StringJoiner byEndpoint = new StringJoiner(",", "{", "}");
+            endpoints.forEach((name, endpoint) -> byEndpoint.add(String.format(Locale.ROOT,
+                    "\"%s\":{\"requests\":%d,\"errors\":%d,\"p50Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+                    name, endpoint.histogram().getTotalCount(), endpoint.errors(),
+                    millis(endpoint.histogram(), 50), millis(endpoint.histogram(), 99),
+                    endpoint.histogram().getMaxValue() / 1e6)));
+            String loadField = mode.equals("open")
+                    ? String.format(Locale.ROOT, "\"targetRps\":%.1f", load)
+                    : String.format(Locale.ROOT, "\"concurrency\":%d", (long) load);
+            return String.format(Locale.ROOT,
+                    "{\"label\":\"%s\",\"mode\":\"%s\",%s,\"requests\":%d,\"errors\":%d,"
+                            + "\"throughput\":%.1f,\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,"
+                            + "\"p999Ms\":%.2f,\"maxMs\":%.2f,\"allocMBps\":%s,\"allocKBPerRequest\":%s,"
+                            + "\"allocationSource\":\"%s\",\"endpoints\":%s}",
+                    label, mode, loadField, histogram.getTotalCount(), errors, throughput(),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1e6, allocationRate(), allocationPerRequest(),
+                    allocationSource, byEndpoint);
+        }
+
+        private String allocationRate() {
+            return allocatedBytes < 0 ? "null"
+                    : String.format(Locale.ROOT, "%.1f", allocatedBytes / 1048576.0 / seconds());
+        }
+
+        private String allocationPerRequest() {
+            return allocatedBytes < 0 || histogram.getTotalCount() == 0 ? "null"
+                    : String.format(Locale.ROOT, "%.1f", allocatedBytes / 1024.0 / histogram.getTotalCount());
+        }
+
+        private double seconds() {
+            return duration.toMillis() / 1000.0;
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.politask.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Bytes que viajan por la red en los listados grandes según el formato
+ * ({@code Accept}) y la compresión ({@code Accept-Encoding}) que pide el
+ * cliente. {@link HttpClient} no descomprime, así que el tamaño del cuerpo
+ * recibido es el de la respuesta tal y como la envía Tomcat.
+ */
+final class WireSizeReport {
+
+    private static final String[][] FORMATS = {
+            {"json", "application/json"},
+            {"cbor", "application/cbor"},
+            {"smile", "application/x-jackson-smile"}};
+
+    private WireSizeReport() {
+    }
+
+    /**
+     * Pide cada listado con la sesión del usuario más activo ({@code token})
+     * sobre su primer proyecto y la primera tarea de ese proyecto. Imprime la
+     * tabla y devuelve la línea JSON del resultado.
+     */
+    static String run(HttpClient client, String baseUrl, Workload workload, String token, String label)
+            throws IOException, InterruptedException {
+        long project = workload.projectsOf(0)[0];
+        long task = workload.tasksOf(project)[0];
+        String[][] endpoints = {
+                {"projects", "/api/projects"},
+                {"project-tasks", "/api/tasks/project/" + project},
+                {"task-comments", "/api/comments/task/" + task}};
+
+        System.out.printf(Locale.ROOT, "%-15s %-6s %12s %12s %8s %10s%n",
+                "endpoint", "format", "identity B", "gzip B", "gzip %", "vs json %");
+        StringJoiner json = new StringJoiner(",", "{", "}");
+        for (String[] endpoint : endpoints) {
+            StringJoiner byFormat = new StringJoiner(",", "{", "}");
+            long jsonBytes = 0;
+            for (String[] format : FORMATS) {
+                long identity = size(client, baseUrl + endpoint[1], token, format[1], "identity");
+                long gzip = size(client, baseUrl + endpoint[1], token, format[1], "gzip");
+                if (format[0].equals("json")) {
+                    jsonBytes = identity;
+                }
+                System.out.printf(Locale.ROOT, "%-15s %-6s %12d %12d %8.1f %10.1f%n",
+                        endpoint[0], format[0], identity, gzip,
+                        100.0 * gzip / identity, 100.0 * gzip / jsonBytes);
+                byFormat.add(String.format(Locale.ROOT, "\"%s\":{\"identity\":%d,\"gzip\":%d}",
+                        format[0], identity, gzip));
+            }
+            json.add("\"" + endpoint[0] + "\":" + byFormat);
+        }
+        return String.format(Locale.ROOT, "{\"label\":\"%s\",\"mode\":\"wire-sizes\",\"endpoints\":%s}", label, json);
+    }
+
+    private static long size(HttpClient client, String url, String token, String accept, String encoding)
+            throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .header("Accept", accept)
+                .header("Accept-Encoding", encoding)
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofByteArray());
+        String contentType = response.headers().firstValue("Content-Type").orElse("");
+        if (response.statusCode() != 200 || !contentType.startsWith(accept)) {
+            throw new IllegalStateException("Respuesta inesperada de " + url + " con Accept " + accept
+                    + ": " + response.statusCode() + " " + contentType);
+        }
+        boolean compressed = response.headers().firstValue("Content-Encoding").orElse("").equals("gzip");
+        if (compressed != encoding.equals("gzip") && response.body().length >= 1024) {
+            throw new IllegalStateException("Compresión inesperada en " + url + " con Accept-Encoding " + encoding);
+        }
+        return response.body().length;
+    }
+}
@@ -0,0 +1,27 @@
+package com.politask.loadtest;
+
+/**
+ * Datos sembrados que necesita el generador para construir peticiones válidas.
+ * Los ids son consecutivos desde 1 y el rango de popularidad coincide con el
+ * id: el usuario 1 y el proyecto 1 son los más activos.
+ *
+ * @param emails           email del usuario con id {@code i + 1}
+ * @param password         contraseña común de todos los usuarios sembrados
+ * @param projectsByUser   proyectos visibles (propios o como miembro) por usuario, ordenados por id
+ * @param tasksByProject   ids de tarea del proyecto con id {@code i + 1}
+ * @param skew             exponente Zipf usado al sembrar y al elegir usuarios, proyectos y tareas
+ */
+record Workload(String[] emails, String password, long[][] projectsByUser, long[][] tasksByProject, double skew) {
+
+    int users() {
+        return emails.length;
+    }
+
+    long[] projectsOf(int userIndex) {
+        return projectsByUser[userIndex];
+    }
+
+    long[] tasksOf(long projectId) {
+        return tasksByProject[(int) (projectId - 1)];
+    }
+}
@@ -0,0 +1,217 @@
+package com.politask.loadtest;
+
+import com.politask.stats.ProjectStatsService;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+/**
+ * Siembra usuarios, proyectos, project_users, tareas y comentarios por JDBC en
+ * lotes, con sesgo Zipf: pocos usuarios poseen y participan en muchos
+ * proyectos, pocos proyectos concentran la mayoría de las tareas y pocas
+ * tareas la mayoría de los comentarios. Con la misma semilla genera siempre
+ * los mismos datos.
+ */
+final class WorkloadSeeder {
+
+    static final String EMAIL_DOMAIN = "@loadtest.politask";
+
+    private static final int BATCH_SIZE = 1000;
+    // Ordenados por frecuencia: el muestreo Zipf elige casi siempre los primeros
+    private static final String[] STATUSES = {"PENDING", "IN PROGRESS", "DONE", "IN REVIEW", "BLOCKED", "CLOSED", "REJECTED"};
+    private static final String[] PRIORITIES = {"media", "alta", "baja"};
+    private static final String[] ROLES = {"MEMBER", "ADMIN"};
+
+    /** Tamaño y forma de los datos; se lee de las opciones del runner. */
+    record Spec(int users, int projects, int membershipsPerUser, int tasks, int comments,
+                double skew, long seed, String password) {
+
+        static Spec from(Map<String, String> options) {
+            return new Spec(
+                    Integer.parseInt(options.getOrDefault("users", "1000")),
+                    Integer.parseInt(options.getOrDefault("projects", "200")),
+                    Integer.parseInt(options.getOrDefault("memberships-per-user", "3")),
+                    Integer.parseInt(options.getOrDefault("tasks", "50000")),
+                    Integer.parseInt(options.getOrDefault("comments", "200000")),
+                    Double.parseDouble(options.getOrDefault("skew", "1.0")),
+                    Long.parseLong(options.getOrDefault("seed", "42")),
+                    options.getOrDefault("seed-password", "loadtest-password"));
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ProjectStatsService statsService;
+
+    WorkloadSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ProjectStatsService statsService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.statsService = statsService;
+    }
+
+    Workload seed(Spec spec) {
+        if (spec.users() < 1 || spec.projects() < 1 || spec.tasks() < spec.projects()) {
+            throw new IllegalArgumentException("Se necesita al menos un usuario, un proyecto y una tarea por proyecto");
+        }
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        LocalDateTime now = LocalDateTime.now();
+
+        // Usuarios: todos comparten la contraseña, así el hash BCrypt se calcula una sola vez
+        String passwordHash = passwordEncoder.encode(spec.password());
+        String[] emails = new String[spec.users()];
+        String userSql = "INSERT INTO users (id, name, email, password_hash, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < spec.users(); u++) {
+            emails[u] = "user" + (u + 1) + EMAIL_DOMAIN;
+            Timestamp created = timestamp(now.minusDays(365).plusMinutes(random.nextInt(365 * 24 * 60)));
+            rows.add(new Object[]{u + 1, "Usuario " + (u + 1), emails[u], passwordHash, created, created});
+            rows = flushIfFull(userSql, rows);
+        }
+        flush(userSql, rows);
+
+        // Proyectos: el propietario sale de la cola Zipf de usuarios
+        List<Set<Integer>> members = new ArrayList<>(spec.projects());
+        String projectSql = "INSERT INTO projects (id, name, description, owner_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int p = 0; p < spec.projects(); p++) {
+            int owner = Zipf.sample(random, spec.users(), spec.skew());
+            members.add(new LinkedHashSet<>());
+            members.get(p).add(owner);
+            Timestamp created = timestamp(now.minusDays(180).plusMinutes(random.nextInt(180 * 24 * 60)));
+            rows.add(new Object[]{p + 1, "Proyecto " + (p + 1), "Proyecto sembrado para pruebas de carga",
+                    owner + 1, created, created});
+            rows = flushIfFull(projectSql, rows);
+        }
+        flush(projectSql, rows);
+
+        // Membresías: cada usuario participa al menos en un proyecto; el resto se
+        // reparte entre usuarios y proyectos populares
+        String memberSql = "INSERT INTO project_users (project_id, user_id, role, joined_at) VALUES (?, ?, ?, ?)";
+        rows = new ArrayList<>(BATCH_SIZE);
+        long extra = (long) spec.users() * Math.max(0, spec.membershipsPerUser() - 1);
+        for (long i = 0; i < spec.users() + extra; i++) {
+            int u = i < spec.users() ? (int) i : Zipf.sample(random, spec.users(), spec.skew());
+            int p = Zipf.sample(random, spec.projects(), spec.skew());
+            if (members.get(p).add(u)) {
+                String role = ROLES[random.nextInt(10) == 0 ? 1 : 0];
+                rows.add(new Object[]{p + 1, u + 1, role, timestamp(now.minusDays(random.nextInt(180)))});
+                rows = flushIfFull(memberSql, rows);
+            }
+        }
+        flush(memberSql, rows);
+        List<int[]> memberArrays = members.stream()
+                .map(set -> set.stream().mapToInt(Integer::intValue).toArray())
+                .toList();
+
+        // Tareas: una por proyecto como mínimo y el resto concentrado en los proyectos populares
+        List<List<Long>> tasksByProject = new ArrayList<>(spec.projects());
+        for (int p = 0; p < spec.projects(); p++) {
+            tasksByProject.add(new ArrayList<>());
+        }
+        LocalDateTime[] taskCreated = new LocalDateTime[spec.tasks()];
+        String taskSql = "INSERT INTO tasks (id, title, description, status, priority, due_date, created_at, "
+                + "updated_at, project_id, assignee_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int t = 0; t < spec.tasks(); t++) {
+            int p = t < spec.projects() ? t : Zipf.sample(random, spec.projects(), spec.skew());
+            long id = t + 1;
+            tasksByProject.get(p).add(id);
+            LocalDateTime created = now.minusDays(180).plusMinutes(random.nextInt(180 * 24 * 60));
+            taskCreated[t] = created;
+            LocalDateTime updated = created.plusMinutes(random.nextLong(Duration.between(created, now).toMinutes() + 1));
+            Timestamp due = random.nextInt(10) < 7 ? timestamp(created.plusDays(1 + random.nextInt(60))) : null;
+            Integer assignee = random.nextInt(5) == 0 ? null : pick(random, memberArrays.get(p)) + 1;
+            rows.add(new Object[]{id, "Tarea " + id, "Descripción de la tarea " + id,
+                    STATUSES[Zipf.sample(random, STATUSES.length, spec.skew())],
+                    PRIORITIES[Zipf.sample(random, PRIORITIES.length, spec.skew())],
+                    due, timestamp(created), timestamp(updated), p + 1, assignee});
+            rows = flushIfFull(taskSql, rows);
+        }
+        flush(taskSql, rows);
+
+        // Comentarios: proyecto popular, tarea popular dentro del proyecto y autor miembro
+        String commentSql = "INSERT INTO comments (id, task_id, user_id, content, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)";
+        rows = new ArrayList<>(BATCH_SIZE);
+        for (int c = 0; c < spec.comments(); c++) {
+            int p = Zipf.sample(random, spec.projects(), spec.skew());
+            List<Long> tasks = tasksByProject.get(p);
+            long taskId = tasks.get(Zipf.sample(random, tasks.size(), spec.skew()));
+            LocalDateTime taskDate = taskCreated[(int) (taskId - 1)];
+            LocalDateTime created = taskDate.plusMinutes(random.nextLong(Duration.between(taskDate, now).toMinutes() + 1));
+            rows.add(new Object[]{c + 1, taskId, pick(random, memberArrays.get(p)) + 1,
+                    "Comentario " + (c + 1) + " sobre la tarea " + taskId, timestamp(created), timestamp(created)});
+            rows = flushIfFull(commentSql, rows);
+        }
+        flush(commentSql, rows);
+
+        // Los ids se insertaron explícitamente: los generadores deben continuar por encima
+        jdbcTemplate.execute("ALTER TABLE users AUTO_INCREMENT = " + (spec.users() + 1));
+        jdbcTemplate.execute("ALTER TABLE projects AUTO_INCREMENT = " + (spec.projects() + 1));
+        jdbcTemplate.update("UPDATE task_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks))");
+        jdbcTemplate.update("UPDATE comment_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM comments))");
+        // Los contadores por proyecto se mantienen con eventos de Hibernate, que el JDBC directo no dispara
+        statsService.reconcile(null);
+
+        return new Workload(emails, spec.password(), projectsByUser(spec, members), toArrays(tasksByProject), spec.skew());
+    }
+
+    private static long[][] projectsByUser(Spec spec, List<Set<Integer>> members) {
+        List<TreeSet<Long>> byUser = new ArrayList<>(spec.users());
+        for (int u = 0; u < spec.users(); u++) {
+            byUser.add(new TreeSet<>());
+        }
+        for (int p = 0; p < members.size(); p++) {
+            for (int u : members.get(p)) {
+                byUser.get(u).add((long) p + 1);
+            }
+        }
+        long[][] result = new long[spec.users()][];
+        for (int u = 0; u < spec.users(); u++) {
+            result[u] = byUser.get(u).stream().mapToLong(Long::longValue).toArray();
+        }
+        return result;
+    }
+
+    private static long[][] toArrays(List<List<Long>> lists) {
+        long[][] result = new long[lists.size()][];
+        for (int i = 0; i < lists.size(); i++) {
+            result[i] = lists.get(i).stream().mapToLong(Long::longValue).toArray();
+        }
+        return result;
+    }
+
+    private static int pick(SplittableRandom random, int[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private List<Object[]> flushIfFull(String sql, List<Object[]> rows) {
+        if (rows.size() < BATCH_SIZE) {
+            return rows;
+        }
+        flush(sql, rows);
+        return new ArrayList<>(BATCH_SIZE);
+    }
+
+    private void flush(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return Timestamp.valueOf(value);
+    }
+}
@@ -0,0 +1,30 @@
+package com.politask.loadtest;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Muestreo con sesgo tipo Zipf: el rango k (0 = el más popular) sale con
+ * probabilidad proporcional a 1/(k+1)^s. Usa la inversa de la distribución
+ * continua equivalente, así que no necesita tablas por tamaño de lista.
+ */
+final class Zipf {
+
+    private Zipf() {
+    }
+
+    /** Rango en [0, n). Con s = 0 la distribución es uniforme. */
+    static int sample(RandomGenerator random, int n, double s) {
+        if (n <= 1) {
+            return 0;
+        }
+        double u = random.nextDouble();
+        double x;
+        if (Math.abs(s - 1.0) < 1e-9) {
+            x = Math.pow(n + 1, u);
+        } else {
+            double a = 1.0 - s;
+            x = Math.pow(1.0 + u * (Math.pow(n + 1, a) - 1.0), 1.0 / a);
+        }
+        return Math.min((int) x - 1, n - 1);
+    }
+}
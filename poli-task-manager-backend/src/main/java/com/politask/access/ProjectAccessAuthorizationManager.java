@@ -0,0 +1,90 @@
+package com.politask.access;
+
+import com.politask.repository.TaskRepository;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Autoriza las rutas con una variable {@code {projectId}} comprobando que el
+ * usuario es propietario o miembro del proyecto (o, para {@link #manager},
+ * que puede administrarlo). La decisión sale de {@link ProjectAccessCache}, sin
+ * consultas por petición. Un proyecto inexistente se deniega igual que uno ajeno.
+ *
+ * <p>{@link #taskMember} autoriza las rutas con {@code {taskId}} por el proyecto
+ * de la tarea (una consulta por clave primaria). Una tarea inexistente se deja
+ * pasar para que el controlador responda 404 o 412; una tarea sin proyecto se
+ * deniega.
+ */
+public final class ProjectAccessAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public static final String PROJECT_ID = "projectId";
+    public static final String TASK_ID = "taskId";
+
+    private final ProjectAccessCache accessCache;
+    private final TaskRepository taskRepository;
+    private final boolean requireManage;
+
+    private ProjectAccessAuthorizationManager(ProjectAccessCache accessCache, TaskRepository taskRepository,
+                                              boolean requireManage) {
+        this.accessCache = accessCache;
+        this.taskRepository = taskRepository;
+        this.requireManage = requireManage;
+    }
+
+    public static ProjectAccessAuthorizationManager member(ProjectAccessCache accessCache) {
+        return new ProjectAccessAuthorizationManager(accessCache, null, false);
+    }
+
+    public static ProjectAccessAuthorizationManager manager(ProjectAccessCache accessCache) {
+        return new ProjectAccessAuthorizationManager(accessCache, null, true);
+    }
+
+    public static ProjectAccessAuthorizationManager taskMember(ProjectAccessCache accessCache, TaskRepository taskRepository) {
+        return new ProjectAccessAuthorizationManager(accessCache, taskRepository, false);
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication auth = authentication.get();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return new AuthorizationDecision(false);
+        }
+
+        Long projectId;
+        if (taskRepository == null) {
+            projectId = parseId(context.getVariables().get(PROJECT_ID));
+        } else {
+            Long taskId = parseId(context.getVariables().get(TASK_ID));
+            if (taskId == null) {
+                return new AuthorizationDecision(false);
+            }
+            Optional<Long> taskProject = taskRepository.findProjectIdById(taskId);
+            if (taskProject.isEmpty()) {
+                return new AuthorizationDecision(!taskRepository.existsById(taskId));
+            }
+            projectId = taskProject.get();
+        }
+        if (projectId == null) {
+            return new AuthorizationDecision(false);
+        }
+
+        ProjectMemberships memberships = accessCache.forAuthentication(auth);
+        return new AuthorizationDecision(requireManage
+                ? memberships.canManage(projectId)
+                : memberships.canRead(projectId));
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return value != null ? Long.valueOf(value) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.politask.access;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.politask.config.JwtAuthenticationDetails;
+import com.politask.entity.User;
+import com.politask.repository.ProjectUserRepository;
+import com.politask.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Membresías por usuario en memoria. Se cargan con una consulta la primera vez
+ * que el usuario accede a un endpoint de proyecto y después la autorización no
+ * toca la base de datos. {@link ProjectMembershipListener} invalida la entrada
+ * del usuario al cambiar sus membresías o la propiedad de un proyecto; el TTL
+ * solo acota cambios hechos fuera de Hibernate o desde otra instancia.
+ */
+@Component
+public class ProjectAccessCache {
+
+    private static final ProjectMemberships NONE = ProjectMemberships.of(List.of());
+
+    private final ProjectUserRepository projectUserRepository;
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, ProjectMemberships> cache;
+
+    public ProjectAccessCache(ProjectUserRepository projectUserRepository,
+                              UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${politask.access.cache.max-size:10000}") long maxSize,
+                              @Value("${politask.access.cache.ttl:PT10M}") Duration ttl) {
+        this.projectUserRepository = projectUserRepository;
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "project.access");
+    }
+
+    public ProjectMemberships forUser(Long userId) {
+        return cache.get(userId);
+    }
+
+    /** Membresías del usuario autenticado; ninguna si no hay autenticación o no se conoce al usuario. */
+    public ProjectMemberships forAuthentication(Authentication auth) {
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return NONE;
+        }
+        Long userId = userIdOf(auth);
+        return userId != null ? forUser(userId) : NONE;
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /** Id del usuario autenticado: el claim userId del token o, si falta, la búsqueda por email. */
+    public Long userIdOf(Authentication auth) {
+        if (auth.getDetails() instanceof JwtAuthenticationDetails details && details.getUserId() != null) {
+            return details.getUserId();
+        }
+        // Tokens sin claim userId: la búsqueda por email sale del cache de consultas
+        return userRepository.findByEmail(auth.getName()).map(User::getId).orElse(null);
+    }
+
+    private ProjectMemberships load(Long userId) {
+        return ProjectMemberships.of(projectUserRepository.findProjectRolesByUserId(userId));
+    }
+}
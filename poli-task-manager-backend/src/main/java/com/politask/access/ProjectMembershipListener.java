@@ -0,0 +1,88 @@
+package com.politask.access;
+
+import com.politask.entity.Project;
+import com.politask.entity.ProjectUser;
+import com.politask.entity.User;
+import com.politask.util.AfterCommit;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalida {@link ProjectAccessCache} tras el commit cuando cambia una
+ * membresía ({@link ProjectUser}) o el propietario de un {@link Project}. Se
+ * usan eventos de Hibernate, y no de JPA, para conocer también el propietario
+ * anterior en las actualizaciones.
+ */
+@Component
+public class ProjectMembershipListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ProjectAccessCache accessCache;
+
+    public ProjectMembershipListener(EntityManagerFactory entityManagerFactory, ProjectAccessCache accessCache) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.accessCache = accessCache;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        onChange(event.getEntity(), event.getPersister(), null);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        onChange(event.getEntity(), event.getPersister(), event.getOldState());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        onChange(event.getEntity(), event.getPersister(), null);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void onChange(Object entity, EntityPersister persister, Object[] oldState) {
+        if (entity instanceof ProjectUser member) {
+            invalidateAfterCommit(member.getId() != null ? member.getId().getUserId() : null);
+        } else if (entity instanceof Project project) {
+            invalidateAfterCommit(idOf(project.getOwner()));
+            if (oldState != null) {
+                int ownerIndex = persister.getEntityMetamodel().getPropertyIndex("owner");
+                invalidateAfterCommit(idOf((User) oldState[ownerIndex]));
+            }
+        }
+    }
+
+    private void invalidateAfterCommit(Long userId) {
+        if (userId != null) {
+            AfterCommit.run(() -> accessCache.invalidate(userId));
+        }
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+}
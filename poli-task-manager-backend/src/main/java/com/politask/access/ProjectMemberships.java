@@ -0,0 +1,72 @@
+package com.politask.access;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Proyectos a los que tiene acceso un usuario y su rol en cada uno. Inmutable
+ * y compacto: ids ordenados en un {@code long[]} (búsqueda binaria) y el rol en
+ * la misma posición, para poder guardar muchos usuarios en memoria.
+ */
+public final class ProjectMemberships {
+
+    public static final String OWNER = "OWNER";
+    public static final String ADMIN = "ADMIN";
+
+    private final long[] projectIds;
+    private final String[] roles;
+
+    private ProjectMemberships(long[] projectIds, String[] roles) {
+        this.projectIds = projectIds;
+        this.roles = roles;
+    }
+
+    /**
+     * Construye las membresías a partir de pares (projectId, rol). Si un
+     * proyecto aparece dos veces (propietario y además miembro) prevalece OWNER.
+     */
+    public static ProjectMemberships of(List<Object[]> rows) {
+        Map<Long, String> byProject = new TreeMap<>();
+        for (Object[] row : rows) {
+            Long projectId = ((Number) row[0]).longValue();
+            String role = row[1] != null ? ((String) row[1]).intern() : "";
+            byProject.merge(projectId, role, (current, other) -> OWNER.equals(current) ? current : other);
+        }
+
+        long[] ids = new long[byProject.size()];
+        String[] roles = new String[byProject.size()];
+        int i = 0;
+        for (Map.Entry<Long, String> entry : byProject.entrySet()) {
+            ids[i] = entry.getKey();
+            roles[i++] = entry.getValue();
+        }
+        return new ProjectMemberships(ids, roles);
+    }
+
+    /** Rol del usuario en el proyecto, o null si no es propietario ni miembro. */
+    public String roleIn(long projectId) {
+        int index = Arrays.binarySearch(projectIds, projectId);
+        return index >= 0 ? roles[index] : null;
+    }
+
+    public boolean canRead(long projectId) {
+        return roleIn(projectId) != null;
+    }
+
+    // Modificar o borrar el proyecto: propietario o miembro con rol ADMIN
+    public boolean canManage(long projectId) {
+        String role = roleIn(projectId);
+        return OWNER.equals(role) || ADMIN.equalsIgnoreCase(role);
+    }
+
+    public List<Long> projectIds() {
+        List<Long> ids = new ArrayList<>(projectIds.length);
+        for (long id : projectIds) {
+            ids.add(id);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,20 @@
+package com.politask.activity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cambio pendiente de escribir en activity_log. Los valores ya vienen
+ * convertidos a texto (las relaciones, como su id) para no retener entidades
+ * en la cola.
+ */
+public record ActivityEntry(Long projectId, String entityType, Long entityId, String action,
+                            String field, String oldValue, String newValue, Long actorId,
+                            LocalDateTime occurredAt) {
+
+    public static final String TASK = "TASK";
+    public static final String PROJECT = "PROJECT";
+
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+}
@@ -0,0 +1,191 @@
+package com.politask.activity;
+
+import com.politask.config.JwtAuthenticationDetails;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.util.AfterCommit;
+import com.politask.util.BulkImport;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Registra en el historial las altas, bajas y cambios campo a campo de
+ * {@link Task} y {@link Project}. El diff sale del estado anterior y posterior
+ * que Hibernate ya tiene en el evento, sin consultas extra, y las entradas se
+ * entregan a {@link ActivityLogWriter} solo si la transacción confirma. En
+ * una {@link BulkImport} no se registran las filas importadas, solo el alta
+ * del proyecto.
+ */
+@Component
+public class ActivityLogListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    // Campos que cambian en cada escritura o que no aportan al historial
+    private static final Set<String> IGNORED = Set.of("createdAt", "updatedAt", "version");
+    private static final int MAX_VALUE_LENGTH = 255;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ActivityLogWriter writer;
+
+    public ActivityLogListener(EntityManagerFactory entityManagerFactory, ActivityLogWriter writer) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.writer = writer;
+    }
+
+    @PostConstruct
+    void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Task task) {
+            enqueue(List.of(entry(projectOf(event.getPersister(), event.getState()), ActivityEntry.TASK, task.getId(),
+                    ActivityEntry.CREATED, null, null, task.getTitle())));
+        } else if (event.getEntity() instanceof Project project) {
+            enqueue(List.of(entry(project.getId(), ActivityEntry.PROJECT, project.getId(),
+                    ActivityEntry.CREATED, null, null, project.getName())));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        Long projectId;
+        String entityType;
+        if (event.getEntity() instanceof Task) {
+            projectId = projectOf(event.getPersister(), event.getState());
+            entityType = ActivityEntry.TASK;
+        } else if (event.getEntity() instanceof Project project) {
+            projectId = project.getId();
+            entityType = ActivityEntry.PROJECT;
+        } else {
+            return;
+        }
+        if (projectId == null) {
+            return;
+        }
+
+        EntityPersister persister = event.getPersister();
+        String[] names = persister.getPropertyNames();
+        Object[] oldState = event.getOldState();
+        Object[] state = event.getState();
+        int[] dirty = event.getDirtyProperties();
+        List<ActivityEntry> entries = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (IGNORED.contains(names[i]) || persister.getPropertyTypes()[i].isCollectionType()
+                    || (dirty != null && !contains(dirty, i))) {
+                continue;
+            }
+            // Sin estado anterior (entidad separada actualizada sin leerla) solo se conoce el valor nuevo
+            String before = oldState != null ? format(oldState[i]) : null;
+            String after = format(state[i]);
+            if (oldState == null ? dirty != null : !Objects.equals(before, after)) {
+                entries.add(entry(projectId, entityType, (Long) event.getId(), ActivityEntry.UPDATED,
+                        names[i], before, after));
+            }
+        }
+        enqueue(entries);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Task task) {
+            enqueue(List.of(entry(projectOf(event.getPersister(), event.getDeletedState()), ActivityEntry.TASK,
+                    task.getId(), ActivityEntry.DELETED, null, task.getTitle(), null)));
+        } else if (event.getEntity() instanceof Project project) {
+            enqueue(List.of(entry(project.getId(), ActivityEntry.PROJECT, project.getId(),
+                    ActivityEntry.DELETED, null, project.getName(), null)));
+        }
+    }
+
+    /**
+     * Registra el borrado de una tarea eliminada con una sentencia masiva
+     * (JPQL/SQL), que no dispara eventos de Hibernate.
+     */
+    public void recordBulkDelete(Task task) {
+        Long projectId = task.getProject() != null ? task.getProject().getId() : null;
+        enqueue(List.of(entry(projectId, ActivityEntry.TASK, task.getId(), ActivityEntry.DELETED,
+                null, task.getTitle(), null)));
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void enqueue(List<ActivityEntry> entries) {
+        if (entries.isEmpty() || entries.get(0).projectId() == null || BulkImport.isActive()) {
+            return;
+        }
+        AfterCommit.run(() -> writer.offerAll(entries));
+    }
+
+    private static ActivityEntry entry(Long projectId, String entityType, Long entityId, String action,
+                                       String field, String oldValue, String newValue) {
+        return new ActivityEntry(projectId, entityType, entityId, action, field, truncate(oldValue),
+                truncate(newValue), currentUserId(), LocalDateTime.now());
+    }
+
+    private static Long projectOf(EntityPersister persister, Object[] state) {
+        Project project = (Project) state[persister.getEntityMetamodel().getPropertyIndex("project")];
+        return project != null ? project.getId() : null;
+    }
+
+    // El usuario sale del token de la petición; en tareas programadas no hay actor
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getDetails() instanceof JwtAuthenticationDetails details
+                ? details.getUserId()
+                : null;
+    }
+
+    // Las relaciones se guardan como id para no inicializar proxies
+    private static String format(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof User user) {
+            return String.valueOf(user.getId());
+        }
+        if (value instanceof Project project) {
+            return String.valueOf(project.getId());
+        }
+        return value.toString();
+    }
+
+    private static String truncate(String value) {
+        return value != null && value.length() > MAX_VALUE_LENGTH ? value.substring(0, MAX_VALUE_LENGTH) : value;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int v : values) {
+            if (v == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
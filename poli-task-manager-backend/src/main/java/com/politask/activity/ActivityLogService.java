@@ -0,0 +1,55 @@
+package com.politask.activity;
+
+import com.politask.dto.CursorPage;
+import com.politask.entity.ActivityLog;
+import com.politask.repository.ActivityLogRepository;
+import com.politask.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class ActivityLogService {
+
+    private final ActivityLogRepository activityLogRepository;
+
+    @Value("${politask.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${politask.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    public ActivityLogService(ActivityLogRepository activityLogRepository) {
+        this.activityLogRepository = activityLogRepository;
+    }
+
+    /**
+     * Página de la actividad del proyecto, de la más reciente a la más antigua.
+     * Los cambios aparecen cuando ActivityLogWriter vacía su cola (como mucho
+     * flush-interval después del commit).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ActivityLog> findByProject(Long projectId, String cursor, Integer size) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+
+        List<ActivityLog> rows;
+        if (cursor != null && !cursor.isBlank()) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = activityLogRepository.findBefore(projectId, position.getTimestamp(), position.getId(),
+                    Limit.of(limit + 1));
+        } else {
+            rows = activityLogRepository.findLatest(projectId, Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            ActivityLog last = rows.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getOccurredAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+}
@@ -0,0 +1,215 @@
+package com.politask.activity;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Escritura diferida del historial de actividad. Los cambios se encolan tras
+ * el commit en una cola sin bloqueos acotada por un contador atómico, y un
+ * único hilo los inserta en activity_log en lotes JDBC cada flush-interval o
+ * en cuanto hay un lote completo. Con la cola llena quien encola espera como
+ * mucho offer-timeout por transacción (contrapresión) y después descarta
+ * lo que no quepa. Al parar la aplicación se vacía la cola antes de cerrar el
+ * pool de conexiones.
+ */
+@Component
+public class ActivityLogWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO activity_log (project_id, entity_type, entity_id, action, field, old_value, new_value, "
+                    + "actor_id, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Intentos de escritura de un lote antes de descartarlo (p. ej. base de datos caída)
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ConcurrentLinkedQueue<ActivityEntry> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong lastDropWarning = new AtomicLong();
+    private final int capacity;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+    private final long offerTimeoutNanos;
+    private final Duration shutdownTimeout;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${politask.activity.queue-capacity:10000}") int capacity,
+                             @Value("${politask.activity.batch-size:500}") int batchSize,
+                             @Value("${politask.activity.flush-interval:PT1S}") Duration flushInterval,
+                             @Value("${politask.activity.offer-timeout:PT0.1S}") Duration offerTimeout,
+                             @Value("${politask.activity.shutdown-timeout:PT10S}") Duration shutdownTimeout) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.capacity = capacity;
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.offerTimeoutNanos = offerTimeout.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.writer = new Thread(this::writeLoop, "activity-log-writer");
+        this.writer.setDaemon(true);
+
+        Gauge.builder("activity.log.queue.size", size, AtomicInteger::get)
+                .description("Entradas de actividad pendientes de escribir")
+                .register(meterRegistry);
+        this.written = outcomeCounter(meterRegistry, "written");
+        this.dropped = outcomeCounter(meterRegistry, "dropped");
+        this.failed = outcomeCounter(meterRegistry, "failed");
+    }
+
+    @PostConstruct
+    void start() {
+        writer.start();
+    }
+
+    /**
+     * Encola las entradas de una misma transacción con un único plazo de
+     * offer-timeout para todas: con la cola llena se espera como mucho una vez,
+     * no una por entrada. Devuelve cuántas se descartaron (cola llena o
+     * aplicación parándose).
+     */
+    public int offerAll(List<ActivityEntry> entries) {
+        long deadline = System.nanoTime() + offerTimeoutNanos;
+        int rejected = 0;
+        for (ActivityEntry entry : entries) {
+            if (!tryOffer(entry, deadline)) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            dropped.increment(rejected);
+            warnDropped();
+        }
+        return rejected;
+    }
+
+    // Con la cola llena espera hasta deadline; pasado el plazo solo se intenta una vez
+    private boolean tryOffer(ActivityEntry entry, long deadline) {
+        while (running) {
+            int current = size.get();
+            if (current < capacity) {
+                if (size.compareAndSet(current, current + 1)) {
+                    queue.add(entry);
+                    if (current + 1 >= batchSize) {
+                        LockSupport.unpark(writer);
+                    }
+                    return true;
+                }
+                continue;
+            }
+            // Cola llena: se despierta al escritor y se espera a que libere sitio
+            LockSupport.unpark(writer);
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(BACKOFF_NANOS);
+        }
+        return false;
+    }
+
+    public int pending() {
+        return size.get();
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Activity log writer did not drain within {}; {} entries lost", shutdownTimeout, size.get());
+        }
+    }
+
+    private void writeLoop() {
+        List<ActivityEntry> batch = new ArrayList<>(batchSize);
+        while (running || size.get() > 0) {
+            if (running && size.get() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            // Todo lo acumulado, en lotes de batch-size
+            ActivityEntry entry;
+            while ((entry = queue.poll()) != null) {
+                size.decrementAndGet();
+                batch.add(entry);
+                if (batch.size() == batchSize) {
+                    write(batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ActivityEntry> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+                    ps.setLong(1, e.projectId());
+                    ps.setString(2, e.entityType());
+                    ps.setLong(3, e.entityId());
+                    ps.setString(4, e.action());
+                    ps.setString(5, e.field());
+                    ps.setString(6, e.oldValue());
+                    ps.setString(7, e.newValue());
+                    ps.setObject(8, e.actorId());
+                    ps.setTimestamp(9, Timestamp.valueOf(e.occurredAt()));
+                });
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    failed.increment(batch.size());
+                    log.error("Discarding {} activity log entries after {} attempts", batch.size(), attempt, e);
+                } else {
+                    log.warn("Activity log batch insert failed (attempt {}): {}", attempt, e.getMessage());
+                    LockSupport.parkNanos(flushIntervalNanos);
+                }
+            }
+        }
+    }
+
+    // Como mucho un aviso por minuto; el total queda en activity.log.entries{outcome=dropped}
+    private void warnDropped() {
+        long now = System.nanoTime();
+        long last = lastDropWarning.get();
+        if ((last == 0 || now - last > TimeUnit.MINUTES.toNanos(1)) && lastDropWarning.compareAndSet(last, now)) {
+            log.warn("Activity log queue full ({} entries); dropping entries", capacity);
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("activity.log.entries")
+                .description("Entradas del historial de actividad por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
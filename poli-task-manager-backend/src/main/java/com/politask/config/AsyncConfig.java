@@ -0,0 +1,45 @@
+package com.politask.config;
+
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
+
+// Los métodos @Async usan el executor de Spring Boot, que con
+// spring.threads.virtual.enabled=true crea un hilo virtual por tarea.
+// @EnableScheduling activa los trabajos periódicos (p. ej. la conciliación de contadores)
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class AsyncConfig {
+
+    // Spring Boot aplica este decorador a su executor: las tareas @Async heredan
+    // el MDC de quien las lanza (requestId incluido) y lo restauran al acabar
+    @Bean
+    public TaskDecorator mdcTaskDecorator() {
+        return task -> {
+            Map<String, String> context = MDC.getCopyOfContextMap();
+            return () -> {
+                Map<String, String> previous = MDC.getCopyOfContextMap();
+                setContext(context);
+                try {
+                    task.run();
+                } finally {
+                    setContext(previous);
+                }
+            };
+        };
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
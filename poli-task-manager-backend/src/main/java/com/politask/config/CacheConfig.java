@@ -0,0 +1,74 @@
+package com.politask.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Cache de segundo nivel de Hibernate sobre JCache (Caffeine). Cada región se
+ * crea aquí con su propio tamaño y TTL, leídos de
+ * {@code politask.cache.regions.<región>.max-size} y {@code .ttl}.
+ */
+@Configuration
+public class CacheConfig {
+
+    // Regiones de entidades
+    public static final String USERS = "users";
+    public static final String PROJECTS = "projects";
+    public static final String PROJECT_USERS = "project-users";
+
+    // Regiones de consultas
+    public static final String USERS_BY_EMAIL = "query.users-by-email";
+    public static final String MEMBERS_BY_PROJECT = "query.project-users";
+
+    private static final List<String> REGIONS = List.of(
+            USERS, PROJECTS, PROJECT_USERS, USERS_BY_EMAIL, MEMBERS_BY_PROJECT,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment env) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+
+        for (String region : REGIONS) {
+            String prefix = "politask.cache.regions." + region;
+            long maxSize = env.getProperty(prefix + ".max-size", Long.class, 10_000L);
+            Duration ttl = env.getProperty(prefix + ".ttl", Duration.class, Duration.ofMinutes(10));
+            cacheManager.createCache(region, regionConfiguration(OptionalLong.of(maxSize),
+                    OptionalLong.of(ttl.toNanos())));
+        }
+
+        // Las marcas de tiempo de las tablas deciden si un resultado de consulta
+        // sigue siendo válido: no deben expirar ni desalojarse antes que él
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(OptionalLong.empty(), OptionalLong.empty()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(OptionalLong maxSize,
+                                                                             OptionalLong ttlNanos) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate ya guarda entradas desensambladas; copiarlas por valor solo añadiría serialización
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(maxSize);
+        configuration.setExpireAfterWrite(ttlNanos);
+        return configuration;
+    }
+}
@@ -0,0 +1,111 @@
+package com.politask.config;
+
+import com.politask.datasource.ReadWriteRoutingDataSource;
+import com.politask.datasource.ReadYourWrites;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réplicas de lectura. Solo se activa con
+ * {@code politask.datasource.replica.urls}; sin esa propiedad Spring Boot crea
+ * el pool único de siempre a partir de {@code spring.datasource.*}.
+ *
+ * <p>Con réplicas hay un pool Hikari para el primario
+ * ({@code spring.datasource.hikari.*}) y otro por réplica
+ * ({@code politask.datasource.replica.hikari.*}), detrás de
+ * {@link ReadWriteRoutingDataSource}. Flyway migra siempre el primario.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "politask.datasource.replica", name = "urls")
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource routingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            Environment env,
+            MeterRegistry meterRegistry,
+            @Value("${politask.datasource.replica.username:}") String username,
+            @Value("${politask.datasource.replica.password:}") String password,
+            @Value("${politask.datasource.replica.max-lag:PT30S}") Duration maxLag,
+            @Value("${politask.datasource.read-your-writes.window:PT5S}") Duration window,
+            @Value("${politask.datasource.read-your-writes.max-users:10000}") long maxUsers) {
+        List<String> urls = Binder.get(env)
+                .bind("politask.datasource.replica.urls", Bindable.listOf(String.class))
+                .orElse(List.of());
+
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariConfig config = new HikariConfig();
+            config.setPoolName(name);
+            config.setJdbcUrl(urls.get(i));
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            config.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            // Una réplica caída al arrancar no impide arrancar: queda fuera de rotación
+            config.setInitializationFailTimeout(-1);
+            config.setReadOnly(true);
+            Binder.get(env).bind("politask.datasource.replica.hikari", Bindable.ofInstance(config));
+            config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, new HikariDataSource(config));
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, new ReadYourWrites(window, maxUsers),
+                maxLag, meterRegistry);
+    }
+
+    /**
+     * DataSource de la aplicación (JPA, JdbcTemplate). La conexión real se pide
+     * en la primera sentencia, cuando ya se sabe si la transacción es de solo
+     * lectura.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    /**
+     * Con open-in-view la sesión de Hibernate dura toda la petición y, por
+     * defecto, retiene la primera conexión hasta el final: una escritura tras
+     * una lectura usaría la conexión de la réplica. Liberándola al terminar
+     * cada transacción, cada una se enruta por separado.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer connectionReleaseCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,52 @@
+package com.politask.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate prepara en el hilo actual mientras
+ * haya una medición abierta (ver {@link StatementMetricsFilter}). Un lote JDBC
+ * cuenta como una sentencia; el SQL emitido con JdbcTemplate no se cuenta.
+ * Hibernate admite un solo StatementInspector, así que también entrega cada
+ * sentencia a {@link SqlSampleLogger}.
+ */
+@Component
+public class HibernateStatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private final SqlSampleLogger sqlSampleLogger;
+
+    public HibernateStatementCounter(SqlSampleLogger sqlSampleLogger) {
+        this.sqlSampleLogger = sqlSampleLogger;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        sqlSampleLogger.sample(sql);
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    int end() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+}
@@ -0,0 +1,75 @@
+package com.politask.config;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+/**
+ * Una línea JSON por evento (perfil "prod", ver logback-spring.xml): marca de
+ * tiempo, nivel, logger, hilo, MDC (incluido {@code requestId}), mensaje y
+ * traza de la excepción. Se escribe directamente sobre un StringBuilder, sin
+ * mapas intermedios ni librería JSON, y nunca calcula datos del llamador.
+ */
+public class JsonLogLayout extends LayoutBase<ILoggingEvent> {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    @Override
+    public String doLayout(ILoggingEvent event) {
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"@timestamp\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(event.getInstant(), json);
+        json.append('"');
+        field(json, "level", event.getLevel().toString());
+        field(json, "logger", event.getLoggerName());
+        field(json, "thread", event.getThreadName());
+        Map<String, String> mdc = event.getMDCPropertyMap();
+        if (mdc != null) {
+            for (Map.Entry<String, String> entry : mdc.entrySet()) {
+                field(json, entry.getKey(), entry.getValue());
+            }
+        }
+        field(json, "message", event.getFormattedMessage());
+        IThrowableProxy throwable = event.getThrowableProxy();
+        if (throwable != null) {
+            field(json, "exception", ThrowableProxyUtil.asString(throwable));
+        }
+        return json.append('}').append(CoreConstants.LINE_SEPARATOR).toString();
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"");
+        escape(json, name);
+        json.append("\":\"");
+        escape(json, value);
+        json.append('"');
+    }
+
+    private static void escape(StringBuilder json, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.politask.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+
+/**
+ * Detalles de una autenticación por JWT: además de la IP, el id de usuario del
+ * claim {@code userId}, para autorizar sin buscar al usuario por email.
+ */
+public class JwtAuthenticationDetails extends WebAuthenticationDetails {
+
+    private final Long userId;
+
+    public JwtAuthenticationDetails(HttpServletRequest request, Long userId) {
+        super(request);
+        this.userId = userId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+}
@@ -1,15 +1,17 @@
 package com.politask.config;
 
-import com.politask.util.JwtUtil;
+import com.politask.util.JwtTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -20,8 +22,11 @@ import java.util.List;
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    // Mensajes con parámetros: con DEBUG desactivado no se construye ningún texto por petición
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
+    private final JwtTokenCache tokenCache;
+    private final MeterRegistry meterRegistry;
 
     // Lista de endpoints que NO requieren autenticación
     private final List<String> excludedPaths = Arrays.asList(
@@ -31,9 +36,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         "/api/users"  // Temporal para testing
     );
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
-        this.jwtUtil = jwtUtil;
-        this.userDetailsService = userDetailsService;
+    public JwtAuthenticationFilter(JwtTokenCache tokenCache, MeterRegistry meterRegistry) {
+        this.tokenCache = tokenCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -54,45 +59,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             .anyMatch(path -> requestPath.startsWith(path));
 
         if (isExcluded) {
-            logger.debug("Skipping JWT validation for excluded path: " + requestPath);
+            log.debug("Skipping JWT validation for excluded path: {}", requestPath);
             filterChain.doFilter(request, response);
             return;
         }
 
         final String authorizationHeader = request.getHeader("Authorization");
-        String email = null;
-        String jwt = null;
 
-        if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7);
-            try {
-                email = jwtUtil.extractEmail(jwt);
-                logger.debug("Extracted email from JWT: " + email);
-            } catch (Exception e) {
-                logger.error("Error extracting email from JWT: " + e.getMessage());
-                filterChain.doFilter(request, response);
-                return;
-            }
-        } else {
-            logger.debug("No Authorization header found for path: " + requestPath);
+        if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+            log.debug("No Authorization header found for path: {}", requestPath);
+            filterChain.doFilter(request, response);
+            return;
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            final String jwt = authorizationHeader.substring(7);
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String result = "success";
             try {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-                
-                if (jwtUtil.validateToken(jwt, email)) {
+                // Firma, expiración y usuario se resuelven una sola vez por token
+                JwtTokenCache.VerifiedToken verified = tokenCache.get(jwt);
+                UserDetails userDetails = verified.getUserDetails();
+                String email = verified.getClaims().getSubject();
+
+                if (email.equals(userDetails.getUsername())) {
                     UsernamePasswordAuthenticationToken authToken = 
                         new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    authToken.setDetails(new JwtAuthenticationDetails(request,
+                            verified.getClaims().get("userId", Long.class)));
                     SecurityContextHolder.getContext().setAuthentication(authToken);
-                    logger.debug("Successfully authenticated user: " + email);
+                    log.debug("Successfully authenticated user: {}", email);
                 } else {
-                    logger.debug("JWT token validation failed for user: " + email);
+                    result = "subject_mismatch";
+                    tokenCache.invalidate(jwt);
+                    log.debug("JWT token validation failed for user: {}", email);
                 }
             } catch (Exception e) {
-                logger.error("Error authenticating user: " + e.getMessage());
+                result = e.getClass().getSimpleName();
+                log.error("Error authenticating user: {}", e.getMessage());
+            } finally {
+                // Incluye aciertos de cache; los fallos se ven en jwt.verify y cache.gets{name=jwt.tokens}
+                sample.stop(meterRegistry.timer("jwt.authentication", "result", result));
             }
         }
 
@@ -0,0 +1,44 @@
+package com.politask.config;
+
+import com.politask.service.PasswordHashingService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Estado del pool de hashing y ajuste en caliente del coste de BCrypt en
+ * /actuator/passwordhashing. Los hashes existentes se recalculan con el nuevo
+ * coste en el siguiente login correcto de cada usuario.
+ */
+@Component
+@Endpoint(id = "passwordhashing")
+public class PasswordHashingEndpoint {
+
+    private final TunableBCryptPasswordEncoder passwordEncoder;
+    private final PasswordHashingService hashingService;
+
+    public PasswordHashingEndpoint(TunableBCryptPasswordEncoder passwordEncoder,
+                                   PasswordHashingService hashingService) {
+        this.passwordEncoder = passwordEncoder;
+        this.hashingService = hashingService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("strength", passwordEncoder.getStrength());
+        status.put("activeHashes", hashingService.getActiveCount());
+        status.put("queued", hashingService.getQueueSize());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> setStrength(int strength) {
+        passwordEncoder.setStrength(strength);
+        return status();
+    }
+}
@@ -0,0 +1,125 @@
+package com.politask.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Comprueba al arrancar que existen los índices de los que dependen las
+ * consultas calientes. Un índice cuenta si sus primeras columnas coinciden,
+ * en orden, con las esperadas; el nombre no importa. Si falta alguno la
+ * aplicación no arranca, en lugar de degradar a recorridos completos de tabla.
+ */
+@Component
+@ConditionalOnProperty(name = "politask.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaIndexVerifier.class);
+
+    // Índices creados en V2__query_indexes.sql, V5__activity_log.sql y V6__idempotency_keys.sql
+    static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("tasks", "project_id", "updated_at", "id"),
+            new ExpectedIndex("tasks", "project_id", "status", "updated_at", "id"),
+            new ExpectedIndex("tasks", "updated_at", "id"),
+            new ExpectedIndex("tasks", "status"),
+            new ExpectedIndex("tasks", "assignee_id", "status"),
+            new ExpectedIndex("tasks", "due_date"),
+            new ExpectedIndex("tasks", "project_id", "due_date"),
+            new ExpectedIndex("comments", "task_id", "created_at"),
+            new ExpectedIndex("project_users", "project_id"),
+            new ExpectedIndex("project_users", "user_id"),
+            new ExpectedIndex("projects", "owner_id"),
+            new ExpectedIndex("users", "email"),
+            new ExpectedIndex("activity_log", "project_id", "occurred_at", "id"),
+            new ExpectedIndex("idempotency_keys", "expires_at")
+    );
+
+    private final DataSource dataSource;
+
+    public SchemaIndexVerifier(DataSource dataSource, ObjectProvider<FlywayMigrationInitializer> migrations) {
+        this.dataSource = dataSource;
+        // Fuerza a que las migraciones se apliquen antes de inspeccionar el esquema
+        migrations.ifAvailable(initializer -> { });
+    }
+
+    @Override
+    public void afterPropertiesSet() throws SQLException {
+        List<String> missing = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (ExpectedIndex expected : EXPECTED_INDEXES) {
+                if (!isCovered(expected, indexColumns(metaData, connection, expected.table()))) {
+                    missing.add(expected.toString());
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes: " + String.join(", ", missing)
+                    + ". Run the Flyway migrations or set politask.schema.verify-indexes=false.");
+        }
+        log.info("Schema index check passed ({} indexes)", EXPECTED_INDEXES.size());
+    }
+
+    private static boolean isCovered(ExpectedIndex expected, Map<String, List<String>> indexes) {
+        for (List<String> columns : indexes.values()) {
+            if (columns.size() >= expected.columns().size()
+                    && columns.subList(0, expected.columns().size()).equals(expected.columns())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Columnas de cada índice de la tabla, en el orden del índice (incluye PK y
+     * restricciones UNIQUE, que también sirven para las búsquedas).
+     */
+    private static Map<String, List<String>> indexColumns(DatabaseMetaData metaData, Connection connection,
+                                                          String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> byIndex = new TreeMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                table, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String column = rs.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                byIndex.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        Map<String, List<String>> result = new TreeMap<>();
+        byIndex.forEach((name, columns) -> result.put(name, new ArrayList<>(columns.values())));
+        return result;
+    }
+
+    record ExpectedIndex(String table, List<String> columns) {
+
+        ExpectedIndex(String table, String... columns) {
+            this(table, List.of(columns));
+        }
+
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+}
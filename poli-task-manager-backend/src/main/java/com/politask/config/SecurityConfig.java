@@ -1,13 +1,22 @@
 package com.politask.config;
 
+import com.politask.access.ProjectAccessAuthorizationManager;
+import com.politask.access.ProjectAccessCache;
+import com.politask.idempotency.IdempotencyFilter;
+import com.politask.repository.TaskRepository;
+import com.politask.service.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -29,18 +38,47 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ProjectAccessCache accessCache,
+                                           TaskRepository taskRepository) throws Exception {
+        ProjectAccessAuthorizationManager projectMember = ProjectAccessAuthorizationManager.member(accessCache);
+        ProjectAccessAuthorizationManager projectManager = ProjectAccessAuthorizationManager.manager(accessCache);
+        ProjectAccessAuthorizationManager taskMember = ProjectAccessAuthorizationManager.taskMember(accessCache, taskRepository);
+
         http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(auth -> auth
+                // Los despachos ASYNC de SSE ya fueron autorizados en la petición original, y los ERROR
+                // (/error tras un 403 o 404) no llevan el JWT: sin esto un 403 llegaba como 401
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                 // Permitir explícitamente todos los endpoints de auth
                 .requestMatchers("/api/auth/**").permitAll()
                 // Permitir usuarios temporalmente para testing
                 .requestMatchers("/api/users/**").permitAll()
-                // Permitir endpoints de salud y actuator si los tienes
+                // Las operaciones de escritura de actuator (p. ej. el coste de BCrypt): administradores
+                // (politask.security.admin-emails) autenticados con su JWT, además del puerto de gestión
+                .requestMatchers(HttpMethod.POST, "/actuator/**").hasRole(CustomUserDetailsService.ADMIN_ROLE)
+                // Reconstruir el índice de búsqueda recorre todas las tablas: solo administradores
+                .requestMatchers(HttpMethod.POST, "/api/search/reindex").hasRole(CustomUserDetailsService.ADMIN_ROLE)
+                // Actuator solo se sirve en el puerto de gestión (management.server.port), en loopback
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/health").permitAll()
+                // Endpoints de un proyecto: propietario o miembro (modificar/borrar: propietario o ADMIN).
+                // Las membresías salen de ProjectAccessCache, sin consultas por petición
+                .requestMatchers(HttpMethod.POST, "/api/projects/import").authenticated()
+                .requestMatchers("/api/projects/update/{projectId}", "/api/projects/delete/{projectId}").access(projectManager)
+                .requestMatchers(HttpMethod.PATCH, "/api/projects/{projectId}").access(projectManager)
+                .requestMatchers(HttpMethod.POST, "/api/projects/{projectId}/stats/reconcile").access(projectManager)
+                .requestMatchers("/api/projects/{projectId}", "/api/projects/{projectId}/**").access(projectMember)
+                .requestMatchers("/api/tasks/project/{projectId}").access(projectMember)
+                .requestMatchers("/api/project-users/{projectId}").access(projectMember)
+                // Tareas y comentarios: miembro del proyecto de la tarea. El listado de
+                // tareas, el lote, las altas y el listado de proyectos filtran o comprueban
+                // las membresías en el controlador
+                .requestMatchers(HttpMethod.GET, "/api/tasks/{taskId}").access(taskMember)
+                .requestMatchers(HttpMethod.PUT, "/api/tasks/{taskId}").access(taskMember)
+                .requestMatchers(HttpMethod.PATCH, "/api/tasks/{taskId}").access(taskMember)
+                .requestMatchers("/api/comments/task/{taskId}", "/api/comments/task/{taskId}/**").access(taskMember)
                 // Requerir autenticación para todo lo demás
                 .anyRequest().authenticated()
             )
@@ -68,8 +106,9 @@ public class SecurityConfig {
             "http://localhost:3000",
             "http://localhost:8081"
         ));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
+        configuration.setExposedHeaders(List.of(CorrelationIdFilter.HEADER, IdempotencyFilter.REPLAYED_HEADER));
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -79,8 +118,14 @@ public class SecurityConfig {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public TunableBCryptPasswordEncoder bcryptPasswordEncoder(@Value("${politask.auth.bcrypt.strength:10}") int strength) {
+        return new TunableBCryptPasswordEncoder(strength);
+    }
+
+    @Bean
+    @Primary
+    public PasswordEncoder passwordEncoder(TunableBCryptPasswordEncoder bcryptPasswordEncoder, MeterRegistry meterRegistry) {
+        return new TimedPasswordEncoder(bcryptPasswordEncoder, meterRegistry);
     }
 
     @Bean
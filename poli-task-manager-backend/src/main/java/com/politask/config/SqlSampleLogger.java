@@ -0,0 +1,33 @@
+package com.politask.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Registra una muestra de las sentencias SQL de Hibernate (fracción
+ * {@code politask.logging.sql.sample-rate}) en el logger
+ * {@code com.politask.sql.sampled}, en lugar de todas como hace
+ * {@code org.hibernate.SQL}. Las lentas las registra Hibernate en
+ * {@code org.hibernate.SQL_SLOW} (ver {@code hibernate.log_slow_query}).
+ */
+@Component
+public class SqlSampleLogger {
+
+    private static final Logger log = LoggerFactory.getLogger("com.politask.sql.sampled");
+
+    private final double sampleRate;
+
+    public SqlSampleLogger(@Value("${politask.logging.sql.sample-rate:0}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    void sample(String sql) {
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info("Sampled SQL: {}", sql);
+        }
+    }
+}
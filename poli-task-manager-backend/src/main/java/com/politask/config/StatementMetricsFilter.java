@@ -0,0 +1,66 @@
+package com.politask.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Publica cuántas sentencias SQL ejecutó cada petición
+ * ({@code hibernate.statements.request}, por método y patrón de URI) para que
+ * las regresiones N+1 se vean en las métricas. Va antes de la cadena de
+ * seguridad, así que también cuenta la carga del usuario autenticado, y justo
+ * después de {@link CorrelationIdFilter}, para que su aviso lleve el requestId.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class StatementMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementMetricsFilter.class);
+
+    private final HibernateStatementCounter statementCounter;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${politask.metrics.statements-warn-threshold:50}")
+    private int warnThreshold;
+
+    public StatementMetricsFilter(HibernateStatementCounter statementCounter, MeterRegistry meterRegistry) {
+        this.statementCounter = statementCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        statementCounter.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            int statements = statementCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+            DistributionSummary.builder("hibernate.statements.request")
+                    .description("Sentencias SQL preparadas por Hibernate en cada petición")
+                    .tags("method", request.getMethod(), "uri", uri)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            if (statements > warnThreshold) {
+                log.warn("{} {} executed {} SQL statements", request.getMethod(), uri, statements);
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.politask.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt con factor de coste ajustable en caliente. {@link #matches} funciona
+ * con cualquier coste (va codificado en el hash) y {@link #upgradeEncoding}
+ * indica que un hash debe recalcularse cuando su coste difiere del actual,
+ * tanto al subirlo como al bajarlo.
+ */
+public class TunableBCryptPasswordEncoder implements PasswordEncoder {
+
+    public static final int MIN_STRENGTH = 4;
+    public static final int MAX_STRENGTH = 31;
+
+    private volatile BCryptPasswordEncoder delegate;
+    private volatile int strength;
+
+    public TunableBCryptPasswordEncoder(int strength) {
+        setStrength(strength);
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        if (strength < MIN_STRENGTH || strength > MAX_STRENGTH) {
+            throw new IllegalArgumentException("El coste de BCrypt debe estar entre "
+                    + MIN_STRENGTH + " y " + MAX_STRENGTH);
+        }
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Formato $2a$NN$...: el coste son los dos dígitos tras el segundo '$'
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
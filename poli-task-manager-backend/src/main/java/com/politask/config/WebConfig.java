@@ -1,7 +1,12 @@
 package com.politask.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -13,11 +18,28 @@ public class WebConfig {
         return new WebMvcConfigurer() {
             @Override
             public void addCorsMappings(CorsRegistry registry) {
+                // Sin allowCredentials: combinado con los @CrossOrigin(origins = "*") de los
+                // controladores Spring MVC rechaza la configuración y toda petición acaba en 500.
+                // Las peticiones CORS del navegador ya las resuelve el CorsFilter de SecurityConfig
                 registry.addMapping("/**")
                         .allowedOrigins("http://localhost:8080")
-                        .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
-                        .allowCredentials(true);
+                        .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS");
             }
         };
     }
+
+    // CBOR y Smile para quien los pida en Accept (application/cbor, application/x-jackson-smile):
+    // mismos campos que el JSON pero sin repetir nombres como texto. Se construyen con el
+    // Jackson2ObjectMapperBuilder de Spring Boot para que fechas y módulos coincidan con el JSON,
+    // y ocupan el lugar de los convertidores por defecto, detrás de JSON (que sigue siendo
+    // la respuesta para Accept: */*)
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
 }
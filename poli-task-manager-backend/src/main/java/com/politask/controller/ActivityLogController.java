@@ -0,0 +1,43 @@
+package com.politask.controller;
+
+import com.politask.activity.ActivityLogService;
+import com.politask.repository.ProjectRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/projects")
+@CrossOrigin(origins = "*")
+public class ActivityLogController {
+
+    private final ActivityLogService activityLogService;
+    private final ProjectRepository projectRepository;
+
+    public ActivityLogController(ActivityLogService activityLogService, ProjectRepository projectRepository) {
+        this.activityLogService = activityLogService;
+        this.projectRepository = projectRepository;
+    }
+
+    // Historial del proyecto paginado por cursor; "cursor" es el nextCursor de la página anterior
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<?> getActivity(@PathVariable Long id,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        if (!projectRepository.existsById(id)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Proyecto no encontrado");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+        try {
+            return ResponseEntity.ok(activityLogService.findByProject(id, cursor, size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("cursor", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
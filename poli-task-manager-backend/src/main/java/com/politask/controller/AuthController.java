@@ -5,57 +5,77 @@ import com.politask.dto.LoginRequest;
 import com.politask.dto.RegisterRequest;
 import com.politask.entity.User;
 import com.politask.repository.UserRepository;
+import com.politask.service.HashingRejectedException;
+import com.politask.service.PasswordHashingService;
 import com.politask.util.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "*")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService hashingService;
 
-    public AuthController(UserRepository userRepository, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public AuthController(UserRepository userRepository, JwtUtil jwtUtil, PasswordHashingService hashingService) {
         this.userRepository = userRepository;
         this.jwtUtil = jwtUtil;
-        this.passwordEncoder = passwordEncoder;
+        this.hashingService = hashingService;
     }
 
+    // El hash de BCrypt se calcula en el pool de PasswordHashingService; el hilo
+    // de Tomcat queda libre mientras tanto (procesamiento asíncrono de Spring MVC)
     @PostMapping("/register")
-    public ResponseEntity<?> register(@Valid @RequestBody RegisterRequest request, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity<?>> register(@Valid @RequestBody RegisterRequest request,
+                                                         BindingResult bindingResult,
+                                                         HttpServletRequest httpRequest) {
         // Validar errores de validación
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
             bindingResult.getFieldErrors().forEach(error -> 
                 errors.put(error.getField(), error.getDefaultMessage())
             );
-            return ResponseEntity.badRequest().body(errors);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errors));
         }
 
         // Verificar si el email ya existe
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
             Map<String, String> error = new HashMap<>();
             error.put("email", "El email ya está registrado");
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.CONFLICT).body(error));
         }
 
+        CompletableFuture<String> passwordHash;
         try {
+            passwordHash = hashingService.encode(request.getEmail(), httpRequest.getRemoteAddr(), request.getPassword());
+        } catch (HashingRejectedException e) {
+            return CompletableFuture.completedFuture(tooManyRequests(e));
+        }
+
+        return passwordHash.<ResponseEntity<?>>thenApply(hash -> {
             // Crear nuevo usuario
             User user = new User();
             user.setName(request.getName());
             user.setEmail(request.getEmail());
-            user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
+            user.setPasswordHash(hash);
 
             User savedUser = userRepository.save(user);
 
@@ -66,52 +86,58 @@ public class AuthController {
             AuthResponse response = new AuthResponse(token, savedUser.getId(), savedUser.getName(), savedUser.getEmail());
             
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
-
-        } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("message", "Error interno del servidor: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
-        }
+        }).exceptionally(AuthController::internalError);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, BindingResult bindingResult) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request,
+                                                      BindingResult bindingResult,
+                                                      HttpServletRequest httpRequest) {
         // Validar errores de validación
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
             bindingResult.getFieldErrors().forEach(error -> 
                 errors.put(error.getField(), error.getDefaultMessage())
             );
-            return ResponseEntity.badRequest().body(errors);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(errors));
         }
 
         try {
             Optional<User> userOpt = userRepository.findByEmail(request.getEmail());
 
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                
-                // Verificar contraseña con BCrypt
-                if (passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
-                    // Generar token JWT
-                    String token = jwtUtil.generateToken(user.getEmail(), user.getId());
-                    
-                    // Crear respuesta
-                    AuthResponse response = new AuthResponse(token, user.getId(), user.getName(), user.getEmail());
-                    
-                    return ResponseEntity.ok(response);
-                }
+            if (userOpt.isEmpty()) {
+                return CompletableFuture.completedFuture(invalidCredentials());
             }
-
-            // Credenciales inválidas
-            Map<String, String> error = new HashMap<>();
-            error.put("message", "Credenciales inválidas");
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
-
+            User user = userOpt.get();
+
+            // Verificar contraseña con BCrypt (fuera del hilo de la petición)
+            return hashingService.verify(request.getEmail(), httpRequest.getRemoteAddr(),
+                            request.getPassword(), user.getPasswordHash())
+                    .<ResponseEntity<?>>thenApply(verification -> {
+                        if (!verification.matches()) {
+                            return invalidCredentials();
+                        }
+
+                        // El coste de BCrypt cambió: se guarda el hash recalculado
+                        if (verification.upgradedHash() != null) {
+                            user.setPasswordHash(verification.upgradedHash());
+                            userRepository.save(user);
+                        }
+
+                        // Generar token JWT
+                        String token = jwtUtil.generateToken(user.getEmail(), user.getId());
+
+                        // Crear respuesta
+                        AuthResponse response = new AuthResponse(token, user.getId(), user.getName(), user.getEmail());
+
+                        return ResponseEntity.ok(response);
+                    })
+                    .exceptionally(AuthController::internalError);
+
+        } catch (HashingRejectedException e) {
+            return CompletableFuture.completedFuture(tooManyRequests(e));
         } catch (Exception e) {
-            Map<String, String> error = new HashMap<>();
-            error.put("message", "Error interno del servidor: " + e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+            return CompletableFuture.completedFuture(internalError(e));
         }
     }
 
@@ -121,4 +147,28 @@ public class AuthController {
         response.put("message", "Auth endpoint is working!");
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<?> invalidCredentials() {
+        // Credenciales inválidas
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Credenciales inválidas");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+    }
+
+    private static ResponseEntity<?> tooManyRequests(HashingRejectedException e) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    // El detalle queda en el log; al cliente solo llega un mensaje genérico
+    private static ResponseEntity<?> internalError(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("Authentication request failed", cause);
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Error interno del servidor");
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    }
+}
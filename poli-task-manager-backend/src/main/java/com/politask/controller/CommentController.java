@@ -1,10 +1,24 @@
 package com.politask.controller;
 
+import com.politask.access.ProjectAccessCache;
+import com.politask.dto.CommentView;
 import com.politask.entity.Comment;
+import com.politask.event.ProjectEventBus;
 import com.politask.repository.CommentRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.service.CommentService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -12,18 +26,68 @@ import java.util.List;
 public class CommentController {
 
     private final CommentRepository commentRepository;
+    private final CommentService commentService;
+    private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final ProjectEventBus eventBus;
+    private final ProjectAccessCache accessCache;
 
-    public CommentController(CommentRepository commentRepository) {
+    public CommentController(CommentRepository commentRepository, CommentService commentService,
+                             TaskRepository taskRepository, UserRepository userRepository,
+                             ProjectEventBus eventBus, ProjectAccessCache accessCache) {
         this.commentRepository = commentRepository;
+        this.commentService = commentService;
+        this.taskRepository = taskRepository;
+        this.userRepository = userRepository;
+        this.eventBus = eventBus;
+        this.accessCache = accessCache;
     }
 
+    // Hilo paginado por cursor en orden cronológico; "after" es el nextCursor de la página anterior
     @GetMapping("/task/{taskId}")
-    public List<Comment> getByTaskId(@PathVariable Long taskId) {
-        return commentRepository.findByTaskId(taskId);
+    public ResponseEntity<?> getByTaskId(@PathVariable Long taskId,
+                                         @RequestParam(required = false) String after,
+                                         @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(commentService.findByTask(taskId, after, size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("after", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
     }
 
+    // Exportación completa del hilo en NDJSON, escrita según se lee de la base de datos
+    @GetMapping(value = "/task/{taskId}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportByTaskId(@PathVariable Long taskId) {
+        StreamingResponseBody body = out -> commentService.exportByTask(taskId, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Solo en tareas de proyectos de los que el usuario es propietario o miembro.
+    // El autor es siempre el usuario autenticado (user no se lee del cuerpo); la
+    // respuesta tiene la forma de los listados del hilo, con el nombre del autor
     @PostMapping
-    public Comment createComment(@RequestBody Comment comment) {
-        return commentRepository.save(comment);
+    public ResponseEntity<?> createComment(@RequestBody Comment comment) {
+        Optional<Long> projectId = comment.getTask() != null && comment.getTask().getId() != null
+                ? taskRepository.findProjectIdById(comment.getTask().getId())
+                : Optional.empty();
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (projectId.isEmpty() || !accessCache.forAuthentication(auth).canRead(projectId.get())) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "No tienes acceso a esta tarea");
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+        }
+        // Como en TaskController.createTask: sin id/version del cuerpo, save() siempre inserta
+        comment.setId(null);
+        comment.setVersion(null);
+        comment.setTask(taskRepository.getReferenceById(comment.getTask().getId()));
+        // Si el usuario no se conociera, forAuthentication no habría dado acceso
+        comment.setUser(userRepository.findById(accessCache.userIdOf(auth)).orElseThrow());
+        Comment saved = commentRepository.save(comment);
+        eventBus.publishComment(projectId.get(), saved);
+        return ResponseEntity.ok(CommentView.of(saved));
     }
-}
\ No newline at end of file
+}
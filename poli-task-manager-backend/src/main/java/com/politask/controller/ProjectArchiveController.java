@@ -0,0 +1,117 @@
+package com.politask.controller;
+
+import com.fasterxml.jackson.core.JacksonException;
+import com.politask.dto.ProjectImportResult;
+import com.politask.entity.User;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.UserRepository;
+import com.politask.service.ArchiveTooLargeException;
+import com.politask.service.ProjectArchiveService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+@RestController
+@RequestMapping("/api/projects")
+@CrossOrigin(origins = "*")
+public class ProjectArchiveController {
+
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ProjectArchiveService archiveService;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+
+    @Value("${politask.projects.archive.max-size:50MB}")
+    private DataSize maxArchiveSize;
+
+    public ProjectArchiveController(ProjectArchiveService archiveService, ProjectRepository projectRepository,
+                                    UserRepository userRepository) {
+        this.archiveService = archiveService;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+    }
+
+    // Proyecto completo (miembros, tareas y comentarios) en NDJSON comprimido con gzip
+    @GetMapping("/{id}/export")
+    public ResponseEntity<?> exportProject(@PathVariable Long id) {
+        if (!projectRepository.existsById(id)) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Proyecto no encontrado");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+
+        StreamingResponseBody body = out -> {
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)) {
+                archiveService.exportProject(id, gzip);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("project-" + id + ".ndjson.gz").build().toString())
+                .body(body);
+    }
+
+    // Crea un proyecto nuevo, propiedad del usuario autenticado, a partir de un archivo exportado
+    @PostMapping("/import")
+    public ResponseEntity<?> importProject(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Optional<User> ownerOpt = userRepository.findByEmail(authentication.getName());
+        if (ownerOpt.isEmpty()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Usuario no autenticado");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+
+        // Con Content-Length se rechaza sin leer el cuerpo; si no, el servicio corta al superar el límite
+        if (request.getContentLengthLong() > maxArchiveSize.toBytes()) {
+            return tooLarge("El archivo supera " + maxArchiveSize.toMegabytes() + " MB");
+        }
+
+        try {
+            ProjectImportResult result = archiveService.importProject(request.getInputStream(), ownerOpt.get());
+            return ResponseEntity.status(HttpStatus.CREATED).body(result);
+        } catch (ArchiveTooLargeException e) {
+            return tooLarge(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return invalidArchive(e.getMessage());
+        } catch (JacksonException e) {
+            return invalidArchive(e.getOriginalMessage());
+        } catch (ZipException e) {
+            return invalidArchive("gzip corrupto");
+        } catch (IOException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error al leer el archivo de importación");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    private static ResponseEntity<?> tooLarge(String reason) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", reason);
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(error);
+    }
+
+    private static ResponseEntity<?> invalidArchive(String reason) {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Archivo de importación inválido: " + reason);
+        return ResponseEntity.badRequest().body(error);
+    }
+}
@@ -6,24 +6,36 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.politask.access.ProjectAccessCache;
 import com.politask.dto.CreateProjectRequest;
+import com.politask.dto.CursorPage;
+import com.politask.dto.ProjectPatch;
+import com.politask.dto.ProjectSummary;
 import com.politask.entity.Project;
 import com.politask.entity.User;
 import com.politask.repository.UserRepository;
 import com.politask.service.ProjectService;
+import com.politask.util.ETags;
 
 import jakarta.validation.Valid;
 
@@ -34,28 +46,49 @@ public class ProjectController {
     
     private final ProjectService projectService;
     private final UserRepository userRepository;
+    private final ProjectAccessCache accessCache;
     
-    public ProjectController(ProjectService projectService, UserRepository userRepository) {
+    public ProjectController(ProjectService projectService, UserRepository userRepository,
+                             ProjectAccessCache accessCache) {
         this.projectService = projectService;
         this.userRepository = userRepository;
+        this.accessCache = accessCache;
     }
 
+    // Solo los proyectos de los que el usuario es propietario o miembro, paginados por
+    // cursor como las tareas: la siguiente página con ?cursor=nextCursor
     @GetMapping
-    public ResponseEntity<List<Project>> getAllProjects() {
+    public ResponseEntity<?> getAllProjects(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Project> projects = projectService.getAllProjects();
+            List<Long> projectIds = accessCache.forAuthentication(SecurityContextHolder.getContext().getAuthentication())
+                    .projectIds();
+            CursorPage<ProjectSummary> projects = projectService.getProjectSummaries(projectIds, cursor, size);
             return ResponseEntity.ok(projects);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("cursor", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    // El proyecto sale del cache de segundo nivel; con If-None-Match vigente se
+    // responde 304 sin serializarlo
     @GetMapping("/{id}")
-    public ResponseEntity<?> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<?> getProjectById(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             Optional<Project> project = projectService.getProjectById(id);
             if (project.isPresent()) {
-                return ResponseEntity.ok(project.get());
+                String etag = ETags.of(project.get().getVersion());
+                CacheControl revalidate = CacheControl.noCache().cachePrivate();
+                if (ETags.matchesWeak(ifNoneMatch, project.get().getVersion())) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(revalidate).build();
+                }
+                return ResponseEntity.ok().eTag(etag).cacheControl(revalidate).body(project.get());
             } else {
                 Map<String, String> error = new HashMap<>();
                 error.put("message", "Proyecto no encontrado");
@@ -108,7 +141,8 @@ public ResponseEntity<?> createProject(@Valid @RequestBody CreateProjectRequest
 }
 
     @PostMapping("/update/{id}")
-    public ResponseEntity<?> updateProject(@PathVariable Long id, @Valid @RequestBody CreateProjectRequest request, BindingResult bindingResult) {
+    public ResponseEntity<?> updateProject(@PathVariable Long id, @Valid @RequestBody CreateProjectRequest request, BindingResult bindingResult,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         // Validar errores de validación
         if (bindingResult.hasErrors()) {
             Map<String, String> errors = new HashMap<>();
@@ -127,6 +161,11 @@ public ResponseEntity<?> createProject(@Valid @RequestBody CreateProjectRequest
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
             }
 
+            // If-Match: el cliente editó una versión que ya no es la actual
+            if (ifMatch != null && !ETags.matchesStrong(ifMatch, projectOpt.get().getVersion())) {
+                return projectPreconditionFailed();
+            }
+
             // Verificar que el nuevo owner existe (si se especifica)
             if (request.getOwnerId() != null) {
                 Optional<User> ownerOpt = userRepository.findById(request.getOwnerId());
@@ -156,8 +195,11 @@ public ResponseEntity<?> createProject(@Valid @RequestBody CreateProjectRequest
             project.setUpdatedAt(LocalDateTime.now());
 
             Project updatedProject = projectService.updateProject(project);
-            return ResponseEntity.ok(updatedProject);
+            return ResponseEntity.ok().eTag(ETags.of(updatedProject.getVersion())).body(updatedProject);
 
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Otra petición lo actualizó entre la lectura y el UPDATE
+            return projectPreconditionFailed();
         } catch (Exception e) {
             Map<String, String> error = new HashMap<>();
             error.put("message", "Error al actualizar el proyecto");
@@ -165,6 +207,42 @@ public ResponseEntity<?> createProject(@Valid @RequestBody CreateProjectRequest
         }
     }
 
+    // JSON Merge Patch (RFC 7396) de nombre y descripción; If-Match igual que en las tareas
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchProject(@PathVariable Long id, @Valid @RequestBody ProjectPatch patch, BindingResult bindingResult,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(error ->
+            errors.put(error.getField(), error.getDefaultMessage())
+        );
+        patch.getUnknownFields().forEach(field -> errors.put(field, "Campo desconocido o no editable"));
+        if (patch.has("name") && (patch.getName() == null || patch.getName().trim().isEmpty())) {
+            errors.put("name", "El nombre del proyecto es obligatorio");
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        Long expectedVersion;
+        try {
+            expectedVersion = ETags.parseVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            return projectPreconditionFailed();
+        }
+
+        try {
+            Optional<Project> saved = projectService.patchProject(id, patch, expectedVersion);
+            if (saved.isEmpty()) {
+                Map<String, String> error = new HashMap<>();
+                error.put("message", "Proyecto no encontrado");
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+            }
+            return ResponseEntity.ok().eTag(ETags.of(saved.get().getVersion())).body(saved.get());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return projectPreconditionFailed();
+        }
+    }
+
     @PostMapping("/delete/{id}")
     public ResponseEntity<?> deleteProject(@PathVariable Long id) {
         try {
@@ -196,4 +274,10 @@ public ResponseEntity<?> createProject(@Valid @RequestBody CreateProjectRequest
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
         }
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<?> projectPreconditionFailed() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "El proyecto fue modificado por otra petición; vuelve a cargarlo");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.politask.controller;
+
+import com.politask.event.ProjectEventBus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/projects")
+@CrossOrigin(origins = "*")
+public class ProjectEventController {
+
+    private final ProjectEventBus eventBus;
+
+    public ProjectEventController(ProjectEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    // Canal de eventos del proyecto; el navegador reenvía Last-Event-ID al reconectar
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable Long id,
+                                   @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBus.subscribe(id, lastEventId);
+    }
+}
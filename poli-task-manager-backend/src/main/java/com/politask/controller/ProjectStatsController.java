@@ -0,0 +1,50 @@
+package com.politask.controller;
+
+import com.politask.dto.ProjectStats;
+import com.politask.repository.ProjectRepository;
+import com.politask.stats.ProjectStatsService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/projects")
+@CrossOrigin(origins = "*")
+public class ProjectStatsController {
+
+    private final ProjectStatsService statsService;
+    private final ProjectRepository projectRepository;
+
+    public ProjectStatsController(ProjectStatsService statsService, ProjectRepository projectRepository) {
+        this.statsService = statsService;
+        this.projectRepository = projectRepository;
+    }
+
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<?> getStats(@PathVariable Long id) {
+        if (!projectRepository.existsById(id)) {
+            return notFound();
+        }
+        ProjectStats stats = statsService.getStats(id);
+        return ResponseEntity.ok(stats);
+    }
+
+    // Recalcula los contadores del proyecto a partir de la tabla de tareas
+    @PostMapping("/{id}/stats/reconcile")
+    public ResponseEntity<?> reconcile(@PathVariable Long id) {
+        if (!projectRepository.existsById(id)) {
+            return notFound();
+        }
+        statsService.reconcile(id);
+        return ResponseEntity.ok(statsService.getStats(id));
+    }
+
+    private ResponseEntity<?> notFound() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Proyecto no encontrado");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+}
@@ -0,0 +1,81 @@
+package com.politask.controller;
+
+import com.politask.access.ProjectAccessCache;
+import com.politask.entity.User;
+import com.politask.repository.UserRepository;
+import com.politask.search.SearchIndex;
+import com.politask.search.SearchIndexRebuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = "*")
+public class SearchController {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final SearchIndex searchIndex;
+    private final SearchIndexRebuilder rebuilder;
+    private final UserRepository userRepository;
+    private final ProjectAccessCache accessCache;
+
+    public SearchController(SearchIndex searchIndex, SearchIndexRebuilder rebuilder,
+                            UserRepository userRepository, ProjectAccessCache accessCache) {
+        this.searchIndex = searchIndex;
+        this.rebuilder = rebuilder;
+        this.userRepository = userRepository;
+        this.accessCache = accessCache;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> search(@RequestParam("q") String query,
+                                    @RequestParam(defaultValue = "0") int page,
+                                    @RequestParam(defaultValue = "20") int size) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Optional<User> userOpt = userRepository.findByEmail(authentication.getName());
+        if (!userOpt.isPresent()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Usuario no autenticado");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(error);
+        }
+
+        try {
+            // Solo se buscan proyectos de los que el usuario es propietario o miembro
+            List<Long> projectIds = accessCache.forUser(userOpt.get().getId()).projectIds();
+            return ResponseEntity.ok(searchIndex.search(query, projectIds,
+                    Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE)));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("q", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error al realizar la búsqueda");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    // Solo administradores (SecurityConfig); 409 si ya hay una reconstrucción en curso
+    @PostMapping("/reindex")
+    public ResponseEntity<?> reindex() {
+        try {
+            rebuilder.rebuild();
+        } catch (IllegalStateException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+        }
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Reconstrucción del índice iniciada");
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
+}
@@ -1,11 +1,36 @@
 package com.politask.controller;
 
+import com.politask.access.ProjectAccessCache;
+import com.politask.access.ProjectMemberships;
+import com.politask.dto.BulkTaskRequest;
+import com.politask.dto.TaskDetail;
+import com.politask.dto.TaskFilter;
+import com.politask.dto.TaskPatch;
 import com.politask.entity.Task;
+import com.politask.event.ProjectEvent;
+import com.politask.event.ProjectEventBus;
+import com.politask.repository.ProjectRepository;
 import com.politask.repository.TaskRepository;
+import com.politask.service.TaskService;
+import com.politask.util.ETags;
+import org.springframework.format.annotation.DateTimeFormat;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
@@ -13,36 +38,254 @@ import java.util.Optional;
 public class TaskController {
 
     private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskService taskService;
+    private final ProjectEventBus eventBus;
+    private final ProjectAccessCache accessCache;
 
-    public TaskController(TaskRepository taskRepository) {
+    public TaskController(TaskRepository taskRepository, ProjectRepository projectRepository, TaskService taskService,
+                          ProjectEventBus eventBus, ProjectAccessCache accessCache) {
         this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.taskService = taskService;
+        this.eventBus = eventBus;
+        this.accessCache = accessCache;
     }
 
     
 
+    // Sin projectId solo se listan tareas de los proyectos del usuario
     @GetMapping
-    public List<Task> getAllTasks() {
-        return taskRepository.findAll();
+    public ResponseEntity<?> getAllTasks(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String priority,
+            @RequestParam(required = false) Long assigneeId,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        ProjectMemberships access = currentAccess();
+        if (projectId != null && !access.canRead(projectId)) {
+            return forbidden();
+        }
+
+        TaskFilter filter = new TaskFilter();
+        filter.setStatus(status);
+        filter.setPriority(priority);
+        filter.setAssigneeId(assigneeId);
+        filter.setProjectId(projectId);
+        if (projectId == null) {
+            filter.setProjectIds(access.projectIds());
+        }
+        filter.setDueFrom(dueFrom);
+        filter.setDueTo(dueTo);
+        return findPage(filter, cursor, size);
     }
 
+    // ETag = versión de la tarea. Con If-None-Match vigente se responde 304
+    // leyendo solo la columna version, sin cargar ni serializar la tarea.
+    // ?expand=project,assignee,comments añade esas relaciones con un plan de carga
+    // fijo (ver TaskService.findDetail); como cambian sin que cambie la versión de
+    // la tarea, la respuesta expandida no lleva ETag
     @GetMapping("/{id}")
-    public Optional<Task> getTaskById(@PathVariable Long id) {
-        return taskRepository.findById(id);
+    public ResponseEntity<?> getTaskById(@PathVariable Long id,
+                                         @RequestParam(required = false) String expand,
+                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Set<TaskDetail.Expand> expansions;
+        try {
+            expansions = TaskDetail.Expand.parse(expand);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("expand", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        if (ifNoneMatch != null && expansions.isEmpty()) {
+            Optional<Long> version = taskRepository.findVersionById(id);
+            if (version.isPresent() && ETags.matchesWeak(ifNoneMatch, version.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(ETags.of(version.get()))
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
+
+        Optional<TaskDetail> task = taskService.findDetail(id, expansions);
+        if (task.isEmpty()) {
+            return taskNotFound();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                // no-cache (en lugar del no-store por defecto) deja al navegador revalidar con If-None-Match
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (expansions.isEmpty()) {
+            response.eTag(ETags.of(task.get().getVersion()));
+        }
+        return response.body(task.get());
     }
 
     @GetMapping("/project/{projectId}")
-    public List<Task> getByProjectId(@PathVariable Long projectId) {
-        return taskRepository.findByProjectId(projectId);
+    public ResponseEntity<?> getByProjectId(@PathVariable Long projectId,
+                                            @RequestParam(required = false) String status,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size) {
+        TaskFilter filter = new TaskFilter();
+        filter.setProjectId(projectId);
+        filter.setStatus(status);
+        return findPage(filter, cursor, size);
     }
 
     @PostMapping(consumes = "application/json", produces = "application/json")
-public Task createTask(@RequestBody Task task) {
-    return taskRepository.save(task);
+public ResponseEntity<?> createTask(@RequestBody Task task) {
+    // Solo en proyectos de los que el usuario es propietario o miembro
+    if (task.getProject() == null || task.getProject().getId() == null
+            || !currentAccess().canRead(task.getProject().getId())) {
+        return forbidden();
+    }
+    // POST solo inserta: un id/version del cuerpo haría que save() fusionara sobre
+    // otra tarea (quizá de un proyecto ajeno) en lugar de crear una nueva
+    task.setId(null);
+    task.setVersion(null);
+    task.setProject(projectRepository.getReferenceById(task.getProject().getId()));
+    Task saved = taskRepository.save(task);
+    eventBus.publishTask(ProjectEvent.TASK_CREATED, saved);
+    return ResponseEntity.ok(saved);
 }
 
+    // PUT reemplaza la representación completa: título, descripción, estado,
+    // prioridad y fecha límite toman el valor del cuerpo y un campo ausente queda
+    // vacío (para cambios parciales está PATCH). Proyecto y responsable no forman
+    // parte de la representación y no cambian.
+    // Con If-Match (o "version" en el cuerpo) solo se aplica si la tarea no cambió
+    // desde que el cliente la leyó; si cambió, o ya no existe, se responde 412
     @PutMapping("/{id}")
-    public Task updateTask(@PathVariable Long id, @RequestBody Task updatedTask) {
-        updatedTask.setId(id);
-        return taskRepository.save(updatedTask);
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody Task updatedTask,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (updatedTask.getTitle() == null || updatedTask.getTitle().isBlank()) {
+            Map<String, String> error = new HashMap<>();
+            error.put("title", "El título es obligatorio");
+            return ResponseEntity.badRequest().body(error);
+        }
+
+        Long expectedVersion = updatedTask.getVersion();
+        if (ifMatch != null) {
+            Optional<Long> current = taskRepository.findVersionById(id);
+            if (current.isEmpty() || !ETags.matchesStrong(ifMatch, current.get())) {
+                return preconditionFailed();
+            }
+            expectedVersion = current.get();
+        }
+
+        try {
+            Optional<Task> saved = taskService.updateTask(id, updatedTask, expectedVersion);
+            if (saved.isEmpty()) {
+                return ifMatch != null ? preconditionFailed() : taskNotFound();
+            }
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(saved.get().getVersion()))
+                    .body(saved.get());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return preconditionFailed();
+        }
+    }
+
+    // JSON Merge Patch (RFC 7396): solo cambian los campos presentes y un null vacía el campo.
+    // If-Match fija la versión esperada sin consulta previa; si la tarea cambió, 412
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchTask(@PathVariable Long id, @Valid @RequestBody TaskPatch patch, BindingResult bindingResult,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Map<String, String> errors = new HashMap<>();
+        bindingResult.getFieldErrors().forEach(error ->
+            errors.put(error.getField(), error.getDefaultMessage())
+        );
+        patch.getUnknownFields().forEach(field -> errors.put(field, "Campo desconocido o no editable"));
+        if (patch.has("title") && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            errors.put("title", "El título es obligatorio");
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        Long expectedVersion;
+        try {
+            expectedVersion = ETags.parseVersion(ifMatch);
+        } catch (IllegalArgumentException e) {
+            // Una ETag que no emitimos nunca coincide
+            return preconditionFailed();
+        }
+
+        try {
+            Optional<Task> saved = taskService.patchTask(id, patch, expectedVersion);
+            if (saved.isEmpty()) {
+                // Con If-Match la precondición no se cumple si la tarea no existe
+                return ifMatch != null ? preconditionFailed() : taskNotFound();
+            }
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(saved.get().getVersion()))
+                    .body(saved.get());
+        } catch (ObjectOptimisticLockingFailureException e) {
+            return preconditionFailed();
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("assigneeId", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+
+    @PostMapping("/bulk")
+    public ResponseEntity<?> bulk(@Valid @RequestBody BulkTaskRequest request, BindingResult bindingResult) {
+        if (bindingResult.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            bindingResult.getFieldErrors().forEach(error ->
+                errors.put(error.getField(), error.getDefaultMessage())
+            );
+            return ResponseEntity.badRequest().body(errors);
+        }
+
+        try {
+            return ResponseEntity.ok(taskService.applyBulk(request.getOperations(), currentAccess()));
+        } catch (AccessDeniedException e) {
+            return forbidden();
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        } catch (Exception e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("message", "Error al procesar el lote de tareas");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+        }
+    }
+
+    private ProjectMemberships currentAccess() {
+        return accessCache.forAuthentication(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static ResponseEntity<?> forbidden() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "No tienes acceso a este proyecto");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+    }
+
+    private static ResponseEntity<?> taskNotFound() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "Tarea no encontrada");
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    private static ResponseEntity<?> preconditionFailed() {
+        Map<String, String> error = new HashMap<>();
+        error.put("message", "La tarea fue modificada por otra petición; vuelve a cargarla");
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
     }
-}
\ No newline at end of file
+
+    private ResponseEntity<?> findPage(TaskFilter filter, String cursor, Integer size) {
+        try {
+            return ResponseEntity.ok(taskService.findTasks(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            Map<String, String> error = new HashMap<>();
+            error.put("cursor", e.getMessage());
+            return ResponseEntity.badRequest().body(error);
+        }
+    }
+}
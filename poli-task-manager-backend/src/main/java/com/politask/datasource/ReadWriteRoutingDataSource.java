@@ -0,0 +1,236 @@
+package com.politask.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reparte las conexiones entre el primario y las réplicas de lectura. Las
+ * transacciones {@code @Transactional(readOnly = true)} van a una réplica sana
+ * (en turno rotatorio) y todo lo demás al primario: escrituras, código sin
+ * transacción (Flyway, JdbcTemplate suelto) y lecturas que siguen a una
+ * escritura según {@link ReadYourWrites}.
+ *
+ * <p>Decide con el estado de la transacción en el momento de pedir la
+ * conexión, así que debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy},
+ * que retrasa la conexión real hasta la primera sentencia (cuando Spring ya ha
+ * marcado la transacción como de solo lectura).
+ *
+ * <p>Una réplica que no da conexión o no supera la comprobación periódica
+ * deja de recibir lecturas hasta que vuelve a estar sana; sin réplicas sanas
+ * se lee del primario.
+ *
+ * <p>Lo leído de una réplica puede ir por detrás del primario, así que no
+ * debe llenar el cache de segundo nivel (que lo serviría durante todo su ttl):
+ * al entregar una conexión de réplica, la sesión de Hibernate en curso pasa a
+ * {@link CacheMode#GET}, que lee del cache y lo invalida al escribir pero no
+ * añade entradas.
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryWrites;
+    private final Counter primaryReadYourWrites;
+    private final Counter primaryNoReplica;
+    private final Counter primaryFailover;
+    private final Counter replicaReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, HikariDataSource> replicas,
+                                      ReadYourWrites readYourWrites, Duration maxLag,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream()
+                .map(e -> new Replica(e.getKey(), e.getValue()))
+                .toList();
+        this.readYourWrites = readYourWrites;
+        this.maxLag = maxLag;
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 si la réplica recibe lecturas, 0 si está fuera de rotación")
+                    .tag("replica", replica.name)
+                    .register(meterRegistry);
+        }
+        this.primaryWrites = routingCounter(meterRegistry, "primary", "write");
+        this.primaryReadYourWrites = routingCounter(meterRegistry, "primary", "read-your-writes");
+        this.primaryNoReplica = routingCounter(meterRegistry, "primary", "no-healthy-replica");
+        this.primaryFailover = routingCounter(meterRegistry, "primary", "replica-failover");
+        this.replicaReads = routingCounter(meterRegistry, "replica", "read-only");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.pool.getConnection();
+            replicaReads.increment();
+            skipSecondLevelCachePuts();
+            return connection;
+        } catch (SQLException e) {
+            markDown(replica, e.getMessage());
+            primaryFailover.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("ReadWriteRoutingDataSource solo usa las credenciales de cada pool");
+    }
+
+    /** Réplicas por nombre, p. ej. para cargarles datos en pruebas locales. */
+    public Map<String, DataSource> getReplicaDataSources() {
+        Map<String, DataSource> result = new LinkedHashMap<>();
+        replicas.forEach(r -> result.put(r.name, r.pool));
+        return result;
+    }
+
+    /**
+     * Comprueba cada réplica (conexión válida y, si max-lag es mayor que cero,
+     * retraso de replicación) y la saca o la devuelve a la rotación.
+     */
+    @Scheduled(fixedDelayString = "${politask.datasource.replica.health-check-interval:PT5S}",
+            initialDelayString = "${politask.datasource.replica.health-check-interval:PT5S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            String problem = probe(replica);
+            if (problem != null) {
+                markDown(replica, problem);
+            } else if (!replica.healthy) {
+                replica.healthy = true;
+                log.info("Replica {} is healthy again; routing reads to it", replica.name);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(r -> r.pool.close());
+    }
+
+    // null = primario
+    private Replica route() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+                primaryWrites.increment();
+            }
+            return null;
+        }
+        if (readYourWrites.requiresPrimary()) {
+            primaryReadYourWrites.increment();
+            return null;
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        primaryNoReplica.increment();
+        return null;
+    }
+
+    // La sesión es la de la transacción o, con open-in-view, la de toda la petición;
+    // el resto de la petición tampoco llena el cache, lo que solo cuesta algún acierto
+    private static void skipSecondLevelCachePuts() {
+        for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+            if (resource instanceof EntityManagerHolder holder) {
+                holder.getEntityManager().unwrap(Session.class).setCacheMode(CacheMode.GET);
+            }
+        }
+    }
+
+    private String probe(Replica replica) {
+        try (Connection connection = replica.pool.getConnection()) {
+            if (!connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                return "connection is not valid";
+            }
+            if (maxLag.isZero()) {
+                return null;
+            }
+            Long lagSeconds = replicationLagSeconds(connection);
+            if (lagSeconds == null) {
+                return "replication is not running";
+            }
+            return lagSeconds > maxLag.toSeconds()
+                    ? "replication lag " + lagSeconds + "s exceeds " + maxLag.toSeconds() + "s"
+                    : null;
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    // MySQL 8.0.22+; un servidor que no es réplica no devuelve filas y cuenta como sin retraso
+    private static Long replicationLagSeconds(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SHOW REPLICA STATUS")) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long lag = rs.getLong("Seconds_Behind_Source");
+            return rs.wasNull() ? null : lag;
+        }
+    }
+
+    private static void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} taken out of rotation, reads go to the primary: {}", replica.name, reason);
+        }
+    }
+
+    private static Counter routingCounter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing")
+                .description("Conexiones entregadas por destino y motivo")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        private Replica(String name, HikariDataSource pool) {
+            this.name = name;
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.politask.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.politask.config.JwtAuthenticationDetails;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+
+/**
+ * Lecturas tras escritura. Cuando una petición abre una transacción de
+ * escritura, sus transacciones de solo lectura posteriores van al primario en
+ * lugar de a una réplica que quizá aún no tenga el cambio. Con una ventana
+ * mayor que cero lo mismo se aplica a las peticiones siguientes del mismo
+ * usuario durante ese tiempo (p. ej. un GET justo después de un PATCH).
+ */
+public class ReadYourWrites {
+
+    private static final String REQUEST_ATTRIBUTE = ReadYourWrites.class.getName() + ".wrote";
+
+    // Usuarios con escrituras recientes; null si la ventana es cero
+    private final Cache<Long, Boolean> recentWriters;
+
+    public ReadYourWrites(Duration window, long maxUsers) {
+        this.recentWriters = window.isZero() || window.isNegative()
+                ? null
+                : Caffeine.newBuilder().maximumSize(maxUsers).expireAfterWrite(window).build();
+    }
+
+    void recordWrite() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(REQUEST_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+        Long userId = currentUserId();
+        if (recentWriters != null && userId != null) {
+            recentWriters.put(userId, Boolean.TRUE);
+        }
+    }
+
+    boolean requiresPrimary() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null && request.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return true;
+        }
+        Long userId = recentWriters != null ? currentUserId() : null;
+        return userId != null && recentWriters.getIfPresent(userId) != null;
+    }
+
+    // Fuera de una petición autenticada (tareas programadas, arranque) no hay usuario
+    private static Long currentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return auth != null && auth.getDetails() instanceof JwtAuthenticationDetails details
+                ? details.getUserId()
+                : null;
+    }
+}
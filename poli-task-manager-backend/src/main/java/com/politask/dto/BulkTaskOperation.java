@@ -0,0 +1,100 @@
+package com.politask.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDateTime;
+
+public class BulkTaskOperation {
+
+    public enum Type {
+        CREATE, UPDATE_STATUS, REASSIGN, DELETE
+    }
+
+    @NotNull(message = "El tipo de operación es obligatorio")
+    private Type type;
+
+    // Tarea afectada (UPDATE_STATUS, REASSIGN, DELETE)
+    private Long taskId;
+
+    // Campos usados por CREATE, UPDATE_STATUS y REASSIGN
+    private String title;
+    private String description;
+    private String status;
+    private String priority;
+    private LocalDateTime dueDate;
+    private Long projectId;
+    private Long assigneeId;
+
+    // Getters y Setters
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+}
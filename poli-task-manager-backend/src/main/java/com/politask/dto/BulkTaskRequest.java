@@ -0,0 +1,20 @@
+package com.politask.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+public class BulkTaskRequest {
+
+    @NotEmpty(message = "Debe incluir al menos una operación")
+    private List<@Valid BulkTaskOperation> operations;
+
+    public List<BulkTaskOperation> getOperations() {
+        return operations;
+    }
+
+    public void setOperations(List<BulkTaskOperation> operations) {
+        this.operations = operations;
+    }
+}
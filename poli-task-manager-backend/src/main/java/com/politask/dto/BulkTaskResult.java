@@ -0,0 +1,66 @@
+package com.politask.dto;
+
+public class BulkTaskResult {
+    private int index;
+    private BulkTaskOperation.Type type;
+    private Long taskId;
+    private boolean success;
+    private String message;
+
+    public BulkTaskResult(int index, BulkTaskOperation.Type type, Long taskId, boolean success, String message) {
+        this.index = index;
+        this.type = type;
+        this.taskId = taskId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static BulkTaskResult ok(int index, BulkTaskOperation.Type type, Long taskId) {
+        return new BulkTaskResult(index, type, taskId, true, null);
+    }
+
+    public static BulkTaskResult error(int index, BulkTaskOperation.Type type, Long taskId, String message) {
+        return new BulkTaskResult(index, type, taskId, false, message);
+    }
+
+    // Getters y Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public BulkTaskOperation.Type getType() {
+        return type;
+    }
+
+    public void setType(BulkTaskOperation.Type type) {
+        this.type = type;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
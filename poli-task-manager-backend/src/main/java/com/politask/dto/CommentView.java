@@ -0,0 +1,21 @@
+package com.politask.dto;
+
+import com.politask.entity.Comment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comentario tal como lo muestran los listados del hilo: incluye el id y el
+ * nombre del autor, que la entidad no serializa. Se construye dentro de la
+ * transacción de lectura, con el autor ya cargado por la consulta del hilo.
+ */
+public record CommentView(Long id, Long userId, String userName, String content,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+    public static CommentView of(Comment comment) {
+        return new CommentView(comment.getId(),
+                comment.getUser() != null ? comment.getUser().getId() : null,
+                comment.getUser() != null ? comment.getUser().getName() : null,
+                comment.getContent(), comment.getCreatedAt(), comment.getUpdatedAt());
+    }
+}
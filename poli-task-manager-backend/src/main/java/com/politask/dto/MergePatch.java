@@ -0,0 +1,41 @@
+package com.politask.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Base de los cuerpos JSON Merge Patch (RFC 7396). Jackson solo llama al
+ * setter de los campos presentes, así que cada setter marca su campo: un campo
+ * ausente no se toca y uno presente con null se vacía. Los campos que no
+ * existen se recogen para rechazarlos en lugar de ignorarlos en silencio.
+ */
+public abstract class MergePatch {
+
+    private final Set<String> present = new HashSet<>();
+    private final Set<String> unknownFields = new TreeSet<>();
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+
+    public boolean isEmpty() {
+        return present.isEmpty();
+    }
+
+    public Set<String> getUnknownFields() {
+        return Collections.unmodifiableSet(unknownFields);
+    }
+
+    protected void markPresent(String field) {
+        present.add(field);
+    }
+
+    @JsonAnySetter
+    void addUnknownField(String name, Object value) {
+        unknownFields.add(name);
+    }
+}
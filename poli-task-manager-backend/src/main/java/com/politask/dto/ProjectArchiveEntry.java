@@ -0,0 +1,38 @@
+package com.politask.dto;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.LocalDateTime;
+
+/**
+ * Una línea del archivo de exportación de proyectos (NDJSON comprimido con
+ * gzip). El orden es: el proyecto, sus miembros, sus tareas y por último los
+ * comentarios. Los usuarios se referencian por email para poder importar en
+ * otra instancia; los ids de tareas solo sirven para enlazar los comentarios.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = ProjectArchiveEntry.ProjectEntry.class, name = "project"),
+        @JsonSubTypes.Type(value = ProjectArchiveEntry.MemberEntry.class, name = "member"),
+        @JsonSubTypes.Type(value = ProjectArchiveEntry.TaskEntry.class, name = "task"),
+        @JsonSubTypes.Type(value = ProjectArchiveEntry.CommentEntry.class, name = "comment")
+})
+public sealed interface ProjectArchiveEntry {
+
+    record ProjectEntry(Long id, String name, String description, String ownerEmail,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) implements ProjectArchiveEntry {
+    }
+
+    record MemberEntry(String email, String role, LocalDateTime joinedAt) implements ProjectArchiveEntry {
+    }
+
+    record TaskEntry(Long id, String title, String description, String status, String priority,
+                     LocalDateTime dueDate, String assigneeEmail,
+                     LocalDateTime createdAt, LocalDateTime updatedAt) implements ProjectArchiveEntry {
+    }
+
+    record CommentEntry(Long id, Long taskId, String userEmail, String content,
+                        LocalDateTime createdAt, LocalDateTime updatedAt) implements ProjectArchiveEntry {
+    }
+}
@@ -0,0 +1,55 @@
+package com.politask.dto;
+
+public class ProjectImportResult {
+    private Long projectId;
+    private int members;
+    private int tasks;
+    private int comments;
+    // Miembros omitidos: email desconocido o de alguien que no colabora ya con quien importa
+    private int skippedMembers;
+
+    public ProjectImportResult(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    // Getters y Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public int getMembers() {
+        return members;
+    }
+
+    public void setMembers(int members) {
+        this.members = members;
+    }
+
+    public int getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(int tasks) {
+        this.tasks = tasks;
+    }
+
+    public int getComments() {
+        return comments;
+    }
+
+    public void setComments(int comments) {
+        this.comments = comments;
+    }
+
+    public int getSkippedMembers() {
+        return skippedMembers;
+    }
+
+    public void setSkippedMembers(int skippedMembers) {
+        this.skippedMembers = skippedMembers;
+    }
+}
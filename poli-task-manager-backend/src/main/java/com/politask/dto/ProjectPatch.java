@@ -0,0 +1,32 @@
+package com.politask.dto;
+
+import jakarta.validation.constraints.Size;
+
+// Cuerpo de PATCH /api/projects/{id}. La descripción se limita al tamaño de la columna (VARCHAR(255))
+public class ProjectPatch extends MergePatch {
+
+    @Size(min = 3, max = 100, message = "El nombre debe tener entre 3 y 100 caracteres")
+    private String name;
+
+    @Size(max = 255, message = "La descripción no puede exceder 255 caracteres")
+    private String description;
+
+    // Getters y Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+        markPresent("name");
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        markPresent("description");
+    }
+}
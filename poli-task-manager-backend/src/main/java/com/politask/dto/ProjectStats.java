@@ -0,0 +1,48 @@
+package com.politask.dto;
+
+import java.util.Map;
+
+public class ProjectStats {
+    private Long projectId;
+    private long totalTasks;
+    private long overdueTasks;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> byPriority;
+    // Clave: id del usuario asignado, o "NONE" para tareas sin asignar
+    private Map<String, Long> byAssignee;
+
+    public ProjectStats(Long projectId, long totalTasks, long overdueTasks, Map<String, Long> byStatus,
+                        Map<String, Long> byPriority, Map<String, Long> byAssignee) {
+        this.projectId = projectId;
+        this.totalTasks = totalTasks;
+        this.overdueTasks = overdueTasks;
+        this.byStatus = byStatus;
+        this.byPriority = byPriority;
+        this.byAssignee = byAssignee;
+    }
+
+    // Getters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public Map<String, Long> getByStatus() {
+        return byStatus;
+    }
+
+    public Map<String, Long> getByPriority() {
+        return byPriority;
+    }
+
+    public Map<String, Long> getByAssignee() {
+        return byAssignee;
+    }
+}
@@ -0,0 +1,76 @@
+package com.politask.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vista de lectura de un proyecto para los listados: solo columnas escalares
+ * y contadores agregados, sin recorrer las relaciones perezosas de la entidad.
+ */
+public class ProjectSummary {
+    private Long id;
+    private String name;
+    private String description;
+    private Long ownerId;
+    private String ownerName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long taskCount;
+    private long openTaskCount;
+    private long memberCount;
+
+    public ProjectSummary(Long id, String name, String description, Long ownerId, String ownerName,
+                          LocalDateTime createdAt, LocalDateTime updatedAt,
+                          Long taskCount, Long openTaskCount, Long memberCount) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.ownerId = ownerId;
+        this.ownerName = ownerName;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.taskCount = taskCount != null ? taskCount : 0;
+        this.openTaskCount = openTaskCount != null ? openTaskCount : 0;
+        this.memberCount = memberCount != null ? memberCount : 0;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public long getOpenTaskCount() {
+        return openTaskCount;
+    }
+
+    public long getMemberCount() {
+        return memberCount;
+    }
+}
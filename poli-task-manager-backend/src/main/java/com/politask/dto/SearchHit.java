@@ -0,0 +1,50 @@
+package com.politask.dto;
+
+public class SearchHit {
+    private String type;
+    private Long id;
+    private Long projectId;
+    private Long taskId;
+    private String title;
+    private String snippet;
+    private float score;
+
+    public SearchHit(String type, Long id, Long projectId, Long taskId, String title, String snippet, float score) {
+        this.type = type;
+        this.id = id;
+        this.projectId = projectId;
+        this.taskId = taskId;
+        this.title = title;
+        this.snippet = snippet;
+        this.score = score;
+    }
+
+    // Getters
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public float getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,34 @@
+package com.politask.dto;
+
+import java.util.List;
+
+public class SearchResults {
+    private List<SearchHit> hits;
+    private long total;
+    private int page;
+    private int size;
+
+    public SearchResults(List<SearchHit> hits, long total, int page, int size) {
+        this.hits = hits;
+        this.total = total;
+        this.page = page;
+        this.size = size;
+    }
+
+    // Getters
+    public List<SearchHit> getHits() {
+        return hits;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public int getSize() {
+        return size;
+    }
+}
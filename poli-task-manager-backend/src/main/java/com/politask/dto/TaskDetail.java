@@ -0,0 +1,156 @@
+package com.politask.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Vista de lectura de una tarea para GET /api/tasks/{id}. Sin {@code expand}
+ * solo lleva las columnas de la tarea y los ids de sus relaciones (que salen
+ * de la propia fila); cada valor de {@code expand} añade únicamente los
+ * campos de la relación que la pantalla de detalle necesita.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskDetail {
+
+    /** Relaciones que se pueden pedir con {@code ?expand=project,assignee,comments}. */
+    public enum Expand {
+        PROJECT, ASSIGNEE, COMMENTS;
+
+        public static Set<Expand> parse(String expand) {
+            Set<Expand> result = EnumSet.noneOf(Expand.class);
+            if (expand == null || expand.isBlank()) {
+                return result;
+            }
+            for (String value : expand.split(",")) {
+                if (value.isBlank()) {
+                    continue;
+                }
+                try {
+                    result.add(valueOf(value.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Valor de expand no soportado: " + value.trim()
+                            + " (valores: project, assignee, comments)");
+                }
+            }
+            return result;
+        }
+    }
+
+    public record ProjectRef(Long id, String name) {
+    }
+
+    public record UserRef(Long id, String name) {
+    }
+
+    private Long id;
+    private String title;
+    private String description;
+    private String status;
+    private String priority;
+    private LocalDateTime dueDate;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+    private Long projectId;
+    private Long assigneeId;
+    private ProjectRef project;
+    private UserRef assignee;
+    // Primera página del hilo; el resto con GET /api/comments/task/{id}?after=nextCursor
+    private CursorPage<CommentView> comments;
+
+    /**
+     * Copia las columnas de la tarea. Los ids de proyecto y responsable se leen
+     * del proxy sin inicializarlo, así que no generan consultas.
+     */
+    public static TaskDetail of(Task task) {
+        TaskDetail detail = new TaskDetail();
+        detail.id = task.getId();
+        detail.title = task.getTitle();
+        detail.description = task.getDescription();
+        detail.status = task.getStatus();
+        detail.priority = task.getPriority();
+        detail.dueDate = task.getDueDate();
+        detail.createdAt = task.getCreatedAt();
+        detail.updatedAt = task.getUpdatedAt();
+        detail.version = task.getVersion();
+        detail.projectId = task.getProject() != null ? task.getProject().getId() : null;
+        detail.assigneeId = task.getAssignee() != null ? task.getAssignee().getId() : null;
+        return detail;
+    }
+
+    public void expandProject(Project project) {
+        this.project = project != null ? new ProjectRef(project.getId(), project.getName()) : null;
+    }
+
+    public void expandAssignee(User assignee) {
+        this.assignee = assignee != null ? new UserRef(assignee.getId(), assignee.getName()) : null;
+    }
+
+    public void expandComments(CursorPage<CommentView> page) {
+        this.comments = page;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public ProjectRef getProject() {
+        return project;
+    }
+
+    public UserRef getAssignee() {
+        return assignee;
+    }
+
+    public CursorPage<CommentView> getComments() {
+        return comments;
+    }
+}
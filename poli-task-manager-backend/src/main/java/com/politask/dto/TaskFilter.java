@@ -0,0 +1,72 @@
+package com.politask.dto;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public class TaskFilter {
+    private String status;
+    private String priority;
+    private Long assigneeId;
+    private Long projectId;
+    // Proyectos visibles para el usuario; null no restringe
+    private Collection<Long> projectIds;
+    private LocalDateTime dueFrom;
+    private LocalDateTime dueTo;
+
+    // Getters y Setters
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Collection<Long> getProjectIds() {
+        return projectIds;
+    }
+
+    public void setProjectIds(Collection<Long> projectIds) {
+        this.projectIds = projectIds;
+    }
+
+    public LocalDateTime getDueFrom() {
+        return dueFrom;
+    }
+
+    public void setDueFrom(LocalDateTime dueFrom) {
+        this.dueFrom = dueFrom;
+    }
+
+    public LocalDateTime getDueTo() {
+        return dueTo;
+    }
+
+    public void setDueTo(LocalDateTime dueTo) {
+        this.dueTo = dueTo;
+    }
+}
@@ -0,0 +1,82 @@
+package com.politask.dto;
+
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+
+// Cuerpo de PATCH /api/tasks/{id}
+public class TaskPatch extends MergePatch {
+
+    @Size(max = 255, message = "El título no puede exceder 255 caracteres")
+    private String title;
+
+    @Size(max = 255, message = "La descripción no puede exceder 255 caracteres")
+    private String description;
+
+    // Mismo límite que project_task_counters.dim_value, donde se agregan
+    @Size(max = 64, message = "El estado no puede exceder 64 caracteres")
+    private String status;
+
+    @Size(max = 64, message = "La prioridad no puede exceder 64 caracteres")
+    private String priority;
+
+    private LocalDateTime dueDate;
+
+    // null deja la tarea sin asignar
+    private Long assigneeId;
+
+    // Getters y Setters
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        markPresent("title");
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        markPresent("description");
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        markPresent("status");
+    }
+
+    public String getPriority() {
+        return priority;
+    }
+
+    public void setPriority(String priority) {
+        this.priority = priority;
+        markPresent("priority");
+    }
+
+    public LocalDateTime getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(LocalDateTime dueDate) {
+        this.dueDate = dueDate;
+        markPresent("dueDate");
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public void setAssigneeId(Long assigneeId) {
+        this.assigneeId = assigneeId;
+        markPresent("assigneeId");
+    }
+}
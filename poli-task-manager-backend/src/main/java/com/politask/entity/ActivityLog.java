@@ -0,0 +1,90 @@
+package com.politask.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del historial de actividad de un proyecto. Solo se lee con JPA; las
+ * filas las inserta ActivityLogWriter por JDBC en lotes.
+ */
+@Entity
+@Immutable
+@Table(name = "activity_log")
+public class ActivityLog {
+
+    @Id
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    // TASK o PROJECT
+    @Column(name = "entity_type", nullable = false)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    // CREATED, UPDATED o DELETED
+    @Column(nullable = false)
+    private String action;
+
+    // Campo modificado; null en altas y bajas
+    private String field;
+
+    @Column(name = "old_value")
+    private String oldValue;
+
+    @Column(name = "new_value")
+    private String newValue;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    // Getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getAction() {
+        return action;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getOldValue() {
+        return oldValue;
+    }
+
+    public String getNewValue() {
+        return newValue;
+    }
+
+    public Long getActorId() {
+        return actorId;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -1,25 +1,34 @@
 package com.politask.entity;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.politask.search.SearchIndexListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "comments")
 public class Comment {
     
+    // Igual que en Task: la secuencia "pooled" permite agrupar los INSERT en lotes JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comment_seq")
+    @SequenceGenerator(name = "comment_seq", sequenceName = "comment_seq", allocationSize = 50)
     private Long id;
 
+    // Como en Task, las relaciones no se serializan ni se leen del cuerpo (@JsonIgnore y no
+    // @JsonBackReference, que arrastraba el deserializador de User y hacía fallar el de Comment);
+    // el autor sale en CommentView y la tarea se indica con "taskId"
     @ManyToOne
     @JoinColumn(name = "task_id")
-    @JsonBackReference(value = "task-comments")
+    @JsonIgnore
     private Task task;
 
     @ManyToOne
     @JoinColumn(name = "user_id")
-    @JsonBackReference(value = "user-comments")
+    @JsonIgnore
     private User user;
 
     private String content;
@@ -30,6 +39,10 @@ public class Comment {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Concurrencia optimista: un UPDATE con versión obsoleta falla en lugar de pisar cambios
+    @Version
+    private Long version;
+
     // Getters y setters
     public Long getId() {
         return id;
@@ -47,6 +60,16 @@ public class Comment {
         this.task = task;
     }
 
+    // Solo de entrada: POST /api/comments indica la tarea con "taskId" (o "task_id").
+    // Queda una Task con solo el id, que el controlador cambia por una referencia gestionada
+    @JsonSetter("taskId")
+    @JsonAlias("task_id")
+    void acceptTaskId(Long taskId) {
+        Task ref = new Task();
+        ref.setId(taskId);
+        this.task = taskId != null ? ref : null;
+    }
+
     public User getUser() {
         return user;
     }
@@ -78,4 +101,12 @@ public class Comment {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
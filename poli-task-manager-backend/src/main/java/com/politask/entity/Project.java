@@ -1,12 +1,20 @@
 package com.politask.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 import java.util.List;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.politask.config.CacheConfig;
+import com.politask.search.SearchIndexListener;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.PROJECTS)
+@DynamicUpdate
 @Table(name = "projects")
 public class Project {
     @Id
@@ -29,6 +37,10 @@ private User owner;
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
+    // Concurrencia optimista, igual que Task.version (ETag de /api/projects/{id})
+    @Version
+    private Long version;
+
     @OneToMany(mappedBy = "project")
     private List<Task> tasks;
 
@@ -83,6 +95,14 @@ private User owner;
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Task> getTasks() {
         return tasks;
     }
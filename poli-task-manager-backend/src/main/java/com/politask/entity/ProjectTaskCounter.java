@@ -0,0 +1,34 @@
+package com.politask.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Contador agregado de tareas por proyecto y dimensión. Se mantiene de forma
+ * incremental desde los eventos de Hibernate y se recalcula periódicamente.
+ */
+@Entity
+@Table(name = "project_task_counters")
+public class ProjectTaskCounter {
+
+    @EmbeddedId
+    private ProjectTaskCounterId id;
+
+    @Column(name = "task_count", nullable = false)
+    private long taskCount;
+
+    public ProjectTaskCounterId getId() {
+        return id;
+    }
+
+    public void setId(ProjectTaskCounterId id) {
+        this.id = id;
+    }
+
+    public long getTaskCount() {
+        return taskCount;
+    }
+
+    public void setTaskCount(long taskCount) {
+        this.taskCount = taskCount;
+    }
+}
@@ -0,0 +1,68 @@
+package com.politask.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+@Embeddable
+public class ProjectTaskCounterId implements Serializable {
+
+    @Column(name = "project_id")
+    private Long projectId;
+
+    // TOTAL, STATUS, PRIORITY o ASSIGNEE
+    @Column(name = "dimension", length = 16)
+    private String dimension;
+
+    @Column(name = "dim_value", length = 255)
+    private String value;
+
+    public ProjectTaskCounterId() {}
+
+    public ProjectTaskCounterId(Long projectId, String dimension, String value) {
+        this.projectId = projectId;
+        this.dimension = dimension;
+        this.value = value;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public void setValue(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ProjectTaskCounterId)) return false;
+        ProjectTaskCounterId that = (ProjectTaskCounterId) o;
+        return Objects.equals(projectId, that.projectId) &&
+               Objects.equals(dimension, that.dimension) &&
+               Objects.equals(value, that.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(projectId, dimension, value);
+    }
+}
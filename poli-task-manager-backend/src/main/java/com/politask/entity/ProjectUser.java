@@ -1,11 +1,15 @@
 package com.politask.entity;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.politask.config.CacheConfig;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheConfig.PROJECT_USERS)
 @Table(name = "project_users")
 public class ProjectUser {
 
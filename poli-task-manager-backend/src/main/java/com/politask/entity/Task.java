@@ -1,18 +1,38 @@
 package com.politask.entity;
 
-import com.fasterxml.jackson.annotation.JsonBackReference;
-import com.fasterxml.jackson.annotation.JsonManagedReference;
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.politask.search.SearchIndexListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
+@DynamicUpdate // Los UPDATE solo incluyen las columnas modificadas (p. ej. un cambio de estado)
 @Table(name = "tasks")
+@NamedEntityGraph(name = Task.DETAIL_GRAPH, attributeNodes = {
+        @NamedAttributeNode("project"),
+        @NamedAttributeNode("assignee")
+})
 public class Task {
 
+    // Plan de carga de la vista de detalle: proyecto y responsable en la misma consulta
+    public static final String DETAIL_GRAPH = "Task.detail";
+
+    // Estados terminales; cualquier otro (o ninguno) cuenta como tarea abierta
+    // en los contadores de proyectos y en las tareas vencidas
+    public static final Set<String> CLOSED_STATUSES = Set.of("DONE", "CLOSED", "REJECTED");
+
+    // IDENTITY desactiva el batching de INSERT en Hibernate; la secuencia "pooled"
+    // reserva bloques de ids (en MySQL se emula con la tabla task_seq)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     private String title;
@@ -29,20 +49,29 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt = LocalDateTime.now();
 
-    @ManyToOne
+    // Control de concurrencia optimista: cada UPDATE incluye "where version = ?"
+    // y el valor se expone como ETag en la API
+    @Version
+    private Long version;
+
+    // LAZY: ninguna de las dos relaciones se serializa (@JsonIgnore y no
+    // @JsonBackReference: dos referencias sin nombre impiden deserializar Task)
+    // y los listeners solo usan su id, así que cargar una tarea es un SELECT por clave primaria sin joins
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id")
-    @JsonBackReference // Para evitar recursión con Project.tasks
+    @JsonIgnore
     private Project project;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignee_id")
-    @JsonBackReference // Para evitar recursión con User.assignedTasks
+    @JsonIgnore
     private User assignee;
 
 
-@OneToMany(mappedBy = "task")
-@JsonManagedReference(value = "task-comments")
-private List<Comment> comments;
+    // No se serializa: los comentarios se piden paginados en /api/comments/task/{taskId}
+    @OneToMany(mappedBy = "task")
+    @JsonIgnore
+    private List<Comment> comments;
 
     public Long getId() {
         return id;
@@ -108,6 +137,14 @@ private List<Comment> comments;
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Project getProject() {
         return project;
     }
@@ -116,6 +153,16 @@ private List<Comment> comments;
         this.project = project;
     }
 
+    // Solo de entrada: POST /api/tasks indica el proyecto con "projectId" (o "project_id").
+    // Queda un Project con solo el id, que el controlador cambia por una referencia gestionada
+    @JsonSetter("projectId")
+    @JsonAlias("project_id")
+    void acceptProjectId(Long projectId) {
+        Project ref = new Project();
+        ref.setId(projectId);
+        this.project = projectId != null ? ref : null;
+    }
+
     public User getAssignee() {
         return assignee;
     }
@@ -0,0 +1,45 @@
+package com.politask.event;
+
+import java.time.LocalDateTime;
+
+public class ProjectEvent {
+
+    public static final String TASK_CREATED = "task.created";
+    public static final String TASK_UPDATED = "task.updated";
+    public static final String TASK_DELETED = "task.deleted";
+    public static final String COMMENT_ADDED = "comment.added";
+
+    private final long id;
+    private final Long projectId;
+    private final String type;
+    private final LocalDateTime occurredAt;
+    private final Object payload;
+
+    public ProjectEvent(long id, Long projectId, String type, Object payload) {
+        this.id = id;
+        this.projectId = projectId;
+        this.type = type;
+        this.occurredAt = LocalDateTime.now();
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public Object getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,290 @@
+package com.politask.event;
+
+import com.politask.entity.Comment;
+import com.politask.entity.Task;
+import com.politask.util.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bus de eventos en proceso para los cambios de tareas y comentarios de cada
+ * proyecto. Cada suscriptor tiene una cola acotada que vacía un pool pequeño
+ * de hilos despachadores, de modo que quien publica nunca escribe en sockets.
+ * Un suscriptor cuya cola se llena se desconecta; al reconectar con
+ * Last-Event-ID recupera los eventos desde el buffer circular del proyecto.
+ * Solo tienen buffer los proyectos con suscriptores o que los tuvieron hace
+ * menos de channel-idle; los eventos de los demás se descartan y quien
+ * reconecte más tarde recibe "resync".
+ */
+@Component
+public class ProjectEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectEventBus.class);
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher;
+    private final int replayBufferSize;
+    private final int subscriberQueueSize;
+    private final long emitterTimeoutMillis;
+    private final long channelIdleNanos;
+
+    public ProjectEventBus(@Value("${politask.events.dispatcher-threads:4}") int dispatcherThreads,
+                           @Value("${politask.events.replay-buffer:256}") int replayBufferSize,
+                           @Value("${politask.events.subscriber-queue:256}") int subscriberQueueSize,
+                           @Value("${politask.events.emitter-timeout:PT30M}") Duration emitterTimeout,
+                           @Value("${politask.events.channel-idle:PT5M}") Duration channelIdle,
+                           @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            // Un hilo virtual por vaciado: un cliente lento no retiene un hilo del pool
+            this.dispatcher = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("project-events-", 0).factory());
+        } else {
+            AtomicInteger threadCount = new AtomicInteger();
+            this.dispatcher = Executors.newFixedThreadPool(dispatcherThreads, r -> {
+                Thread t = new Thread(r, "project-events-" + threadCount.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        this.replayBufferSize = replayBufferSize;
+        this.subscriberQueueSize = subscriberQueueSize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.channelIdleNanos = channelIdle.toNanos();
+    }
+
+    public void publishTask(String type, Task task) {
+        if (task.getProject() == null) {
+            return;
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("taskId", task.getId());
+        if (!ProjectEvent.TASK_DELETED.equals(type)) {
+            payload.put("title", task.getTitle());
+            payload.put("status", task.getStatus());
+            payload.put("priority", task.getPriority());
+            payload.put("assigneeId", task.getAssignee() != null ? task.getAssignee().getId() : null);
+            payload.put("dueDate", task.getDueDate());
+            payload.put("updatedAt", task.getUpdatedAt());
+        }
+        publish(task.getProject().getId(), type, payload);
+    }
+
+    public void publishComment(Long projectId, Comment comment) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("commentId", comment.getId());
+        payload.put("taskId", comment.getTask() != null ? comment.getTask().getId() : null);
+        payload.put("userId", comment.getUser() != null ? comment.getUser().getId() : null);
+        payload.put("content", comment.getContent());
+        payload.put("createdAt", comment.getCreatedAt());
+        publish(projectId, ProjectEvent.COMMENT_ADDED, payload);
+    }
+
+    /**
+     * Publica un evento. Dentro de una transacción se difiere hasta el commit
+     * para no anunciar cambios que luego se deshacen.
+     */
+    public void publish(Long projectId, String type, Object payload) {
+        if (projectId == null) {
+            return;
+        }
+        AfterCommit.run(() -> dispatch(projectId, type, payload));
+    }
+
+    /**
+     * Registra un suscriptor para el proyecto. Si {@code lastEventId} sigue en
+     * el buffer se reenvían los eventos posteriores; si ya salió del buffer se
+     * envía un evento "resync" para que el cliente recargue el estado completo.
+     */
+    public SseEmitter subscribe(Long projectId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        // Dentro de compute: la purga de canales inactivos no puede quitar el canal entre crearlo y suscribirse
+        channels.compute(projectId, (id, channel) -> {
+            Channel target = channel != null ? channel : new Channel();
+            target.add(emitter, lastEventId);
+            return target;
+        });
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return channels.values().stream().mapToInt(c -> c.subscribers.size()).sum();
+    }
+
+    int channelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Quita los canales sin suscriptores desde hace más de channel-idle, con su
+     * buffer. Un cliente que reconecte después recibe "resync".
+     */
+    @Scheduled(fixedDelayString = "${politask.events.channel-sweep-interval:PT1M}")
+    public void evictIdleChannels() {
+        long now = System.nanoTime();
+        for (Long projectId : channels.keySet()) {
+            channels.computeIfPresent(projectId, (id, channel) -> channel.isIdle(now) ? null : channel);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        channels.values().forEach(Channel::closeAll);
+        dispatcher.shutdown();
+    }
+
+    private void dispatch(Long projectId, String type, Object payload) {
+        channels.compute(projectId, (id, channel) -> {
+            if (channel == null) {
+                // Sin canal no hay a quién enviar ni buffer que guardar, pero el id se consume: un
+                // canal creado después empieza por encima y quien reconecte con un id anterior recibe resync
+                sequence.incrementAndGet();
+                return null;
+            }
+            channel.append(projectId, type, payload);
+            return channel;
+        });
+    }
+
+    private final class Channel {
+        private final ArrayDeque<ProjectEvent> recent = new ArrayDeque<>(replayBufferSize);
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        // Id del último evento de este proyecto que salió del buffer; al crear el canal, la secuencia
+        // actual (lo anterior no está en el buffer). La secuencia es global, así que los huecos entre
+        // ids no indican eventos perdidos de este canal
+        private long lastEvictedId = sequence.get();
+        // Última vez que se añadió o quitó un suscriptor, para la purga de canales inactivos
+        private volatile long lastSubscriberChange = System.nanoTime();
+
+        // append y add comparten el monitor para que la repetición y los eventos en vivo no se
+        // intercalen; el id se asigna aquí para que el buffer quede en orden creciente
+        synchronized void append(Long projectId, String type, Object payload) {
+            ProjectEvent event = new ProjectEvent(sequence.incrementAndGet(), projectId, type, payload);
+            if (recent.size() == replayBufferSize) {
+                lastEvictedId = recent.pollFirst().getId();
+            }
+            recent.addLast(event);
+            for (Subscriber subscriber : subscribers) {
+                subscriber.offer(event);
+            }
+        }
+
+        synchronized void add(SseEmitter emitter, Long lastEventId) {
+            Subscriber subscriber = new Subscriber(emitter);
+            emitter.onCompletion(() -> remove(subscriber));
+            emitter.onTimeout(() -> remove(subscriber));
+            emitter.onError(e -> remove(subscriber));
+
+            subscribers.add(subscriber);
+            lastSubscriberChange = System.nanoTime();
+            if (lastEventId == null) {
+                return;
+            }
+            // Se perdió un evento ya desalojado, o el id es de antes de un reinicio del proceso
+            // (entonces el resync lleva el id actual para que el cliente no vuelva a enviar el viejo)
+            long current = sequence.get();
+            if (lastEventId < lastEvictedId || lastEventId > current) {
+                subscriber.offer(new ProjectEvent(Math.min(lastEventId, current), null, "resync", null));
+            }
+            List<ProjectEvent> missed = new ArrayList<>();
+            for (ProjectEvent event : recent) {
+                if (event.getId() > lastEventId) {
+                    missed.add(event);
+                }
+            }
+            missed.forEach(subscriber::offer);
+        }
+
+        void remove(Subscriber subscriber) {
+            if (subscribers.remove(subscriber)) {
+                lastSubscriberChange = System.nanoTime();
+            }
+        }
+
+        boolean isIdle(long now) {
+            return subscribers.isEmpty() && now - lastSubscriberChange > channelIdleNanos;
+        }
+
+        void closeAll() {
+            subscribers.forEach(Subscriber::close);
+        }
+
+        private final class Subscriber {
+            private final SseEmitter emitter;
+            private final ArrayBlockingQueue<ProjectEvent> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+            private final AtomicBoolean scheduled = new AtomicBoolean();
+            private volatile boolean closed;
+
+            Subscriber(SseEmitter emitter) {
+                this.emitter = emitter;
+            }
+
+            void offer(ProjectEvent event) {
+                if (closed) {
+                    return;
+                }
+                if (!queue.offer(event)) {
+                    // Cliente lento: se corta y reanuda desde Last-Event-ID al reconectar
+                    log.debug("Subscriber queue full, closing SSE stream");
+                    close();
+                    return;
+                }
+                schedule();
+            }
+
+            private void schedule() {
+                if (scheduled.compareAndSet(false, true)) {
+                    dispatcher.execute(this::drain);
+                }
+            }
+
+            private void drain() {
+                try {
+                    ProjectEvent event;
+                    while (!closed && (event = queue.poll()) != null) {
+                        emitter.send(SseEmitter.event()
+                                .id(String.valueOf(event.getId()))
+                                .name(event.getType())
+                                .data(event));
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close();
+                } finally {
+                    scheduled.set(false);
+                    if (!closed && !queue.isEmpty()) {
+                        schedule();
+                    }
+                }
+            }
+
+            void close() {
+                if (!closed) {
+                    closed = true;
+                    remove(this);
+                    emitter.complete();
+                }
+            }
+        }
+    }
+}
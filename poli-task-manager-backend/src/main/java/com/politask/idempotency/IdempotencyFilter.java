@@ -0,0 +1,252 @@
+package com.politask.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.politask.config.JwtAuthenticationDetails;
+import com.politask.idempotency.IdempotencyStore.Claim;
+import com.politask.idempotency.IdempotencyStore.Outcome;
+import com.politask.idempotency.IdempotencyStore.StoredResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Cabecera {@code Idempotency-Key} en los POST de creación (politask.idempotency.paths,
+ * por defecto tareas y comentarios). La clave se asocia al usuario, la ruta y
+ * un hash del cuerpo; la primera petición se ejecuta y, si crea el recurso
+ * (2xx), su respuesta se guarda en {@link IdempotencyStore}. Los errores no se
+ * guardan: un 4xx o 5xx no creó nada y el reintento se vuelve a ejecutar.
+ * Un reintento con la misma clave recibe esa misma respuesta, con la cabecera
+ * {@code Idempotent-Replayed: true}, sin volver a llegar al controlador. Con
+ * otro cuerpo se responde 422 y, si la primera sigue en curso pasado
+ * in-flight-timeout, 409. Un cuerpo mayor que max-body-size se rechaza con 413
+ * antes de guardarlo en memoria para calcular su hash.
+ *
+ * <p>Va detrás de la cadena de Spring Security (orden por defecto), así que
+ * el usuario ya está autenticado y las peticiones rechazadas no guardan nada.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyStore store;
+    private final ObjectMapper objectMapper;
+    private final Set<String> paths;
+    private final int maxBodySize;
+    private final Map<Outcome, Counter> outcomes = new EnumMap<>(Outcome.class);
+
+    public IdempotencyFilter(IdempotencyStore store, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${politask.idempotency.paths:/api/tasks,/api/comments}") Set<String> paths,
+                             @Value("${politask.idempotency.max-body-size:1MB}") DataSize maxBodySize) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.paths = paths;
+        this.maxBodySize = (int) Math.min(maxBodySize.toBytes(), Integer.MAX_VALUE - 1);
+        for (Outcome outcome : Outcome.values()) {
+            outcomes.put(outcome, Counter.builder("idempotency.requests")
+                    .description("Peticiones con Idempotency-Key por resultado")
+                    .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || request.getHeader(HEADER) == null
+                || !paths.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String key = request.getHeader(HEADER);
+        if (!isValid(key)) {
+            writeError(response, HttpStatus.BAD_REQUEST,
+                    "Debe tener entre 1 y " + MAX_KEY_LENGTH + " caracteres ASCII visibles");
+            return;
+        }
+
+        // Content-Length primero; sin ella (chunked) se leen como mucho maxBodySize + 1 bytes
+        if (request.getContentLengthLong() > maxBodySize) {
+            writeTooLarge(response);
+            return;
+        }
+        byte[] body = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (body.length > maxBodySize) {
+            writeTooLarge(response);
+            return;
+        }
+        Claim claim = store.begin(sha256(scope(request), key), sha256(body));
+        outcomes.get(claim.outcome()).increment();
+        switch (claim.outcome()) {
+            case EXECUTE -> execute(new CachedBodyRequest(request, body), response, filterChain, claim);
+            case REPLAY -> replay(response, claim.response());
+            case MISMATCH -> writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                    "La clave ya se usó con otro cuerpo de petición");
+            case IN_PROGRESS -> {
+                response.setHeader("Retry-After", "1");
+                writeError(response, HttpStatus.CONFLICT,
+                        "Hay una petición en curso con esta clave; reinténtalo en unos segundos");
+            }
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         Claim claim) throws ServletException, IOException {
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (wrapper.getStatus() >= 200 && wrapper.getStatus() < 300) {
+                store.complete(claim, new StoredResponse(wrapper.getStatus(), wrapper.getContentType(),
+                        wrapper.getContentAsByteArray()));
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.abandon(claim);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static void replay(HttpServletResponse response, StoredResponse stored) throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (stored.body() != null) {
+            response.setContentLength(stored.body().length);
+            response.getOutputStream().write(stored.body());
+        }
+    }
+
+    private void writeTooLarge(HttpServletResponse response) throws IOException {
+        writeError(response, HttpStatus.PAYLOAD_TOO_LARGE,
+                "El cuerpo supera el máximo de " + maxBodySize + " bytes para peticiones idempotentes");
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of(HEADER, message));
+    }
+
+    // Usuario, método y ruta: la misma clave de dos usuarios o en dos endpoints no choca
+    private static String scope(HttpServletRequest request) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        String user = auth == null ? "-"
+                : auth.getDetails() instanceof JwtAuthenticationDetails details && details.getUserId() != null
+                ? details.getUserId().toString()
+                : auth.getName();
+        return user + ' ' + request.getMethod() + ' ' + request.getRequestURI();
+    }
+
+    private static boolean isValid(String key) {
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 0x21 || c > 0x7e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String sha256(String scope, String key) {
+        return sha256((scope + '\n' + key).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Petición con el cuerpo ya leído (para calcular su hash) disponible otra vez para el controlador. */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
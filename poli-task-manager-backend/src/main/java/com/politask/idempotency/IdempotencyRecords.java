@@ -0,0 +1,110 @@
+package com.politask.idempotency;
+
+import com.politask.idempotency.IdempotencyStore.Claim;
+import com.politask.idempotency.IdempotencyStore.Outcome;
+import com.politask.idempotency.IdempotencyStore.StoredResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Nivel persistente de {@link IdempotencyStore} en la tabla idempotency_keys.
+ * La primera instancia que inserta la fila se queda con la clave; la fila
+ * pendiente caduca tras in-flight-timeout (que la instancia renueva mientras
+ * ejecuta la petición) para que una instancia caída no bloquee la clave, y al
+ * guardar la respuesta pasa a caducar tras el ttl.
+ * Una repetición solo lee la fila.
+ */
+@Component
+@ConditionalOnProperty(name = "politask.idempotency.persistent.enabled", havingValue = "true")
+public class IdempotencyRecords {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyRecords.class);
+
+    private static final String SELECT_SQL =
+            "SELECT request_hash, status, content_type, body, expires_at FROM idempotency_keys WHERE idempotency_key = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) VALUES (?, ?, ?, ?)";
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET status = ?, content_type = ?, body = ?, expires_at = ? WHERE idempotency_key = ?";
+
+    private record Row(String requestHash, Integer status, String contentType, byte[] body, LocalDateTime expiresAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public IdempotencyRecords(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    Claim claim(String key, String fingerprint, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Row row = find(key);
+        if (row != null && !row.expiresAt().isAfter(now)) {
+            jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND expires_at <= ?",
+                    key, Timestamp.valueOf(now));
+            row = null;
+        }
+        if (row == null) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, key, fingerprint, Timestamp.valueOf(now), Timestamp.valueOf(now.plus(lease)));
+                return new Claim(Outcome.EXECUTE, key, null, null);
+            } catch (DuplicateKeyException e) {
+                // Otra instancia insertó la clave entre la lectura y la inserción
+                row = find(key);
+                if (row == null) {
+                    return Claim.of(Outcome.IN_PROGRESS);
+                }
+            }
+        }
+        if (!row.requestHash().equals(fingerprint)) {
+            return Claim.of(Outcome.MISMATCH);
+        }
+        if (row.status() == null) {
+            return Claim.of(Outcome.IN_PROGRESS);
+        }
+        return Claim.replay(new StoredResponse(row.status(), row.contentType(), row.body()));
+    }
+
+    void complete(String key, StoredResponse response, Duration ttl) {
+        jdbcTemplate.update(COMPLETE_SQL, response.status(), response.contentType(), response.body(),
+                Timestamp.valueOf(LocalDateTime.now().plus(ttl)), key);
+    }
+
+    void renew(String key, Duration lease) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET expires_at = ? WHERE idempotency_key = ? AND status IS NULL",
+                Timestamp.valueOf(LocalDateTime.now().plus(lease)), key);
+    }
+
+    void release(String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys WHERE idempotency_key = ? AND status IS NULL", key);
+    }
+
+    @Scheduled(fixedDelayString = "${politask.idempotency.persistent.purge-interval:PT10M}")
+    public void purgeExpired() {
+        int deleted = jdbcTemplate.update("DELETE FROM idempotency_keys WHERE expires_at <= ?",
+                Timestamp.valueOf(LocalDateTime.now()));
+        if (deleted > 0) {
+            log.debug("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private Row find(String key) {
+        List<Row> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> new Row(
+                rs.getString("request_hash"),
+                rs.getObject("status", Integer.class),
+                rs.getString("content_type"),
+                rs.getBytes("body"),
+                rs.getTimestamp("expires_at").toLocalDateTime()), key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+}
@@ -0,0 +1,223 @@
+package com.politask.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Respuestas guardadas por clave de idempotencia. En memoria, acotadas por
+ * bytes y con caducidad ttl desde que se guardan; con
+ * {@code politask.idempotency.persistent.enabled} además en la tabla
+ * idempotency_keys ({@link IdempotencyRecords}), que las comparte entre
+ * instancias y sobrevive a reinicios.
+ *
+ * <p>La primera petición con una clave reserva la entrada y se ejecuta; las
+ * que llegan mientras tanto con la misma clave esperan su respuesta (como
+ * mucho in-flight-timeout) en lugar de ejecutarse otra vez, y las posteriores
+ * la reciben directamente, sin tocar la base de datos. La reserva en la tabla
+ * dura in-flight-timeout y se renueva cada medio plazo mientras la petición
+ * sigue en curso, así que una petición lenta no la pierde; si la instancia
+ * cae, caduca sola.
+ */
+@Component
+public class IdempotencyStore {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyStore.class);
+
+    // Coste fijo aproximado de una entrada además del cuerpo (claves, hashes, objetos)
+    private static final int ENTRY_OVERHEAD_BYTES = 256;
+
+    enum Outcome {
+        /** Primera petición con la clave: ejecutarla y llamar a complete o abandon. */
+        EXECUTE,
+        /** Ya hay respuesta: devolverla tal cual. */
+        REPLAY,
+        /** Otra petición con la clave sigue en curso. */
+        IN_PROGRESS,
+        /** La clave ya se usó con otro cuerpo de petición. */
+        MISMATCH
+    }
+
+    record StoredResponse(int status, String contentType, byte[] body) {
+    }
+
+    /** Respuesta de una clave; el futuro está pendiente mientras se ejecuta la primera petición. */
+    record Entry(String fingerprint, CompletableFuture<StoredResponse> response) {
+    }
+
+    record Claim(Outcome outcome, String key, Entry entry, StoredResponse response) {
+
+        static Claim of(Outcome outcome) {
+            return new Claim(outcome, null, null, null);
+        }
+
+        static Claim replay(StoredResponse response) {
+            return new Claim(Outcome.REPLAY, null, null, response);
+        }
+    }
+
+    private final Cache<String, Entry> entries;
+    private final IdempotencyRecords records;
+    private final Duration ttl;
+    private final Duration inFlightTimeout;
+    // Renovación de las reservas en curso en la tabla, por clave
+    private final Map<String, ScheduledFuture<?>> leases = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService leaseRenewer;
+
+    public IdempotencyStore(ObjectProvider<IdempotencyRecords> records,
+                            @Value("${politask.idempotency.max-size:64MB}") DataSize maxSize,
+                            @Value("${politask.idempotency.ttl:PT24H}") Duration ttl,
+                            @Value("${politask.idempotency.in-flight-timeout:PT10S}") Duration inFlightTimeout) {
+        this.records = records.getIfAvailable();
+        this.ttl = ttl;
+        this.inFlightTimeout = inFlightTimeout;
+        // Las entradas en curso pesan 0 y no se desalojan por tamaño; complete() las
+        // vuelve a insertar con su peso real
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> weight(entry))
+                .expireAfterWrite(ttl)
+                .build();
+        this.leaseRenewer = this.records == null ? null : Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "idempotency-lease");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void close() {
+        if (leaseRenewer != null) {
+            leaseRenewer.shutdownNow();
+        }
+    }
+
+    /**
+     * Reserva la clave o devuelve lo que ya hay para ella. Si la clave está en
+     * curso en esta instancia se espera a su respuesta; si la primera petición
+     * termina sin respuesta guardable se vuelve a intentar la reserva.
+     */
+    Claim begin(String key, String fingerprint) {
+        long deadline = System.nanoTime() + inFlightTimeout.toNanos();
+        while (true) {
+            Entry entry = new Entry(fingerprint, new CompletableFuture<>());
+            Entry existing = entries.asMap().putIfAbsent(key, entry);
+            if (existing == null) {
+                return records != null ? claimRecord(key, entry) : new Claim(Outcome.EXECUTE, key, entry, null);
+            }
+            if (!existing.fingerprint().equals(fingerprint)) {
+                return Claim.of(Outcome.MISMATCH);
+            }
+            try {
+                return Claim.replay(existing.response().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                return Claim.of(Outcome.IN_PROGRESS);
+            } catch (ExecutionException e) {
+                // La primera petición se abandonó: la entrada ya no está y se reintenta
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Claim.of(Outcome.IN_PROGRESS);
+            }
+        }
+    }
+
+    /** Guarda la respuesta de una reserva EXECUTE y despierta a quienes la esperan. */
+    void complete(Claim claim, StoredResponse response) {
+        stopRenewing(claim.key());
+        claim.entry().response().complete(response);
+        entries.asMap().replace(claim.key(), claim.entry(), claim.entry());
+        if (records != null) {
+            try {
+                records.complete(claim.key(), response, ttl);
+            } catch (DataAccessException e) {
+                log.warn("Could not persist idempotent response for key {}", claim.key(), e);
+            }
+        }
+    }
+
+    /** Libera una reserva EXECUTE sin respuesta guardable (error): la clave se puede reintentar. */
+    void abandon(Claim claim) {
+        stopRenewing(claim.key());
+        entries.asMap().remove(claim.key(), claim.entry());
+        if (records != null) {
+            try {
+                records.release(claim.key());
+            } catch (DataAccessException e) {
+                log.warn("Could not release idempotency key {}", claim.key(), e);
+            }
+        }
+        claim.entry().response().completeExceptionally(new IllegalStateException("Petición abandonada"));
+    }
+
+    // Consulta la tabla tras reservar en memoria: otra instancia puede tener la clave
+    private Claim claimRecord(String key, Entry entry) {
+        Claim claim;
+        try {
+            claim = records.claim(key, entry.fingerprint(), inFlightTimeout);
+        } catch (DataAccessException e) {
+            // Sin la tabla se sigue deduplicando en esta instancia
+            log.warn("Idempotency table unavailable, using in-memory store only", e);
+            return new Claim(Outcome.EXECUTE, key, entry, null);
+        }
+        switch (claim.outcome()) {
+            case EXECUTE -> {
+                startRenewing(key);
+                return new Claim(Outcome.EXECUTE, key, entry, null);
+            }
+            case REPLAY -> {
+                entry.response().complete(claim.response());
+                entries.asMap().replace(key, entry, entry);
+                return claim;
+            }
+            default -> {
+                entries.asMap().remove(key, entry);
+                entry.response().completeExceptionally(new IllegalStateException(claim.outcome().name()));
+                return claim;
+            }
+        }
+    }
+
+    private void startRenewing(String key) {
+        long period = Math.max(1, inFlightTimeout.toMillis() / 2);
+        leases.put(key, leaseRenewer.scheduleAtFixedRate(() -> {
+            try {
+                records.renew(key, inFlightTimeout);
+            } catch (DataAccessException e) {
+                log.warn("Could not renew idempotency lease for key {}", key, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS));
+    }
+
+    private void stopRenewing(String key) {
+        ScheduledFuture<?> lease = key != null ? leases.remove(key) : null;
+        if (lease != null) {
+            lease.cancel(false);
+        }
+    }
+
+    private static int weight(Entry entry) {
+        StoredResponse response = entry.response().getNow(null);
+        if (response == null) {
+            return 0;
+        }
+        return ENTRY_OVERHEAD_BYTES + (response.body() != null ? response.body().length : 0);
+    }
+}
@@ -0,0 +1,23 @@
+package com.politask.repository;
+
+import com.politask.entity.ActivityLog;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ActivityLogRepository extends JpaRepository<ActivityLog, Long> {
+    // Actividad más reciente primero (occurred_at DESC, id DESC), servida por idx_activity_log_project_occurred
+    @Query("select a from ActivityLog a where a.projectId = :projectId "
+            + "order by a.occurredAt desc, a.id desc")
+    List<ActivityLog> findLatest(@Param("projectId") Long projectId, Limit limit);
+
+    @Query("select a from ActivityLog a where a.projectId = :projectId "
+            + "and (a.occurredAt < :occurredAt or (a.occurredAt = :occurredAt and a.id < :id)) "
+            + "order by a.occurredAt desc, a.id desc")
+    List<ActivityLog> findBefore(@Param("projectId") Long projectId, @Param("occurredAt") LocalDateTime occurredAt,
+                                 @Param("id") Long id, Limit limit);
+}
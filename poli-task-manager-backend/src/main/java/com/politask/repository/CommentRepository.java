@@ -1,10 +1,45 @@
 package com.politask.repository;
 
 import com.politask.entity.Comment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByTaskId(Long taskId);
-}
\ No newline at end of file
+    // Hilo de comentarios en orden cronológico (created_at ASC, id ASC), servido por idx_comments_task_created.
+    // El autor se trae en el mismo SELECT porque CommentView expone su id y su nombre
+    @Query("select c from Comment c left join fetch c.user where c.task.id = :taskId "
+            + "order by c.createdAt asc, c.id asc")
+    List<Comment> findThreadStart(@Param("taskId") Long taskId, Limit limit);
+
+    @Query("select c from Comment c left join fetch c.user where c.task.id = :taskId "
+            + "and (c.createdAt > :createdAt or (c.createdAt = :createdAt and c.id > :id)) "
+            + "order by c.createdAt asc, c.id asc")
+    List<Comment> findThreadAfter(@Param("taskId") Long taskId, @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id, Limit limit);
+
+    // Comentarios de todo un proyecto, agrupados por tarea; debe consumirse dentro de una transacción
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = TaskRepository.STREAM_FETCH_SIZE))
+    @Query("select c from Comment c join fetch c.task t left join fetch t.assignee left join fetch c.user "
+            + "where t.project.id = :projectId order by t.id, c.createdAt, c.id")
+    Stream<Comment> streamByProjectId(@Param("projectId") Long projectId);
+
+    // Recorrido completo por id (keyset) para reconstruir el índice de búsqueda; tarea y autor
+    // (EAGER) vienen en el mismo SELECT en lugar de una consulta aparte por comentario
+    @Query("select c from Comment c left join fetch c.task left join fetch c.user where c.id > :id order by c.id")
+    List<Comment> findPageAfter(@Param("id") long id, Limit limit);
+
+    @Modifying
+    @Query("delete from Comment c where c.task.id in :taskIds")
+    int deleteByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -1,7 +1,43 @@
 package com.politask.repository;
 
+import com.politask.dto.ProjectSummary;
 import com.politask.entity.Project;
+import com.politask.entity.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface ProjectRepository extends JpaRepository<Project, Long> {
-}
\ No newline at end of file
+
+    // Una sola sentencia por página: los contadores se resuelven con subconsultas correlacionadas.
+    // Solo los proyectos indicados (los del usuario, ver ProjectAccessCache), por id a partir de afterId
+    @Query("""
+            select new com.politask.dto.ProjectSummary(
+                p.id, p.name, p.description, o.id, o.name, p.createdAt, p.updatedAt,
+                (select count(t) from Task t where t.project = p),
+                (select count(t) from Task t where t.project = p
+                    and (t.status is null or t.status not in :closedStatuses)),
+                (select count(pu) from ProjectUser pu where pu.project = p))
+            from Project p join p.owner o
+            where p.id in :ids and p.id > :afterId
+            order by p.id
+            """)
+    List<ProjectSummary> findSummaries(@Param("ids") Collection<Long> ids, @Param("afterId") long afterId,
+                                       @Param("closedStatuses") Collection<String> closedStatuses, Limit limit);
+
+    default List<ProjectSummary> findSummaries(Collection<Long> ids, long afterId, Limit limit) {
+        return findSummaries(ids, afterId, Task.CLOSED_STATUSES, limit);
+    }
+
+    // Recorrido completo por id (keyset) para reconstruir el índice de búsqueda; el propietario
+    // (EAGER) viene en el mismo SELECT en lugar de una consulta aparte por proyecto
+    @Query("select p from Project p left join fetch p.owner where p.id > :id order by p.id")
+    List<Project> findPageAfter(@Param("id") long id, Limit limit);
+
+    @Query("select p.id from Project p where p.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,11 @@
+package com.politask.repository;
+
+import com.politask.entity.ProjectTaskCounter;
+import com.politask.entity.ProjectTaskCounterId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface ProjectTaskCounterRepository extends JpaRepository<ProjectTaskCounter, ProjectTaskCounterId> {
+    List<ProjectTaskCounter> findByIdProjectId(Long projectId);
+}
@@ -1,11 +1,29 @@
 package com.politask.repository;
 
+import com.politask.config.CacheConfig;
 import com.politask.entity.ProjectUser;
 import com.politask.entity.ProjectUserId;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ProjectUserRepository extends JpaRepository<ProjectUser, ProjectUserId> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.MEMBERS_BY_PROJECT)
+    })
     List<ProjectUser> findByProjectId(Long projectId);
-}
\ No newline at end of file
+
+    // (projectId, rol) de cada proyecto accesible, con el propietario como OWNER, en una sola consulta
+    @Query("""
+            select p.id, 'OWNER' from Project p where p.owner.id = :userId
+            union all
+            select pu.project.id, pu.role from ProjectUser pu where pu.user.id = :userId
+            """)
+    List<Object[]> findProjectRolesByUserId(@Param("userId") Long userId);
+}
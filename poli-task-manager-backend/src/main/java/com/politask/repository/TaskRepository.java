@@ -1,10 +1,54 @@
 package com.politask.repository;
 
 import com.politask.entity.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    // Filas por ida y vuelta en las consultas en streaming (con useCursorFetch=true en MySQL)
+    String STREAM_FETCH_SIZE = "500";
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByProjectId(Long projectId);
-}
\ No newline at end of file
+
+    // Recorrido completo por id (keyset) para reconstruir el índice de búsqueda
+    @Query("select t from Task t where t.id > :id order by t.id")
+    List<Task> findPageAfter(@Param("id") long id, Limit limit);
+
+    // Un SELECT con join a projects y users; findById es el plan resumido (sin joins)
+    @EntityGraph(Task.DETAIL_GRAPH)
+    Optional<Task> findDetailById(Long id);
+
+    @Query("select t.project.id from Task t where t.id = :taskId")
+    Optional<Long> findProjectIdById(@Param("taskId") Long taskId);
+
+    // Solo la columna version: basta para responder 304 sin cargar la tarea
+    @Query("select t.version from Task t where t.id = :taskId")
+    Optional<Long> findVersionById(@Param("taskId") Long taskId);
+
+    @Query("select count(t) from Task t where t.project.id = :projectId and t.dueDate < :now "
+            + "and (t.status is null or t.status not in :closedStatuses)")
+    long countOverdueByProjectId(@Param("projectId") Long projectId, @Param("now") LocalDateTime now,
+                                 @Param("closedStatuses") Collection<String> closedStatuses);
+
+    default long countOverdueByProjectId(Long projectId, LocalDateTime now) {
+        return countOverdueByProjectId(projectId, now, Task.CLOSED_STATUSES);
+    }
+
+    // Debe consumirse dentro de una transacción y cerrarse al terminar
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("select t from Task t left join fetch t.assignee where t.project.id = :projectId order by t.id")
+    Stream<Task> streamByProjectId(@Param("projectId") Long projectId);
+}
@@ -0,0 +1,55 @@
+package com.politask.repository;
+
+import com.politask.dto.TaskFilter;
+import com.politask.entity.Task;
+import com.politask.util.KeysetCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getPriority() != null) {
+                predicates.add(cb.equal(root.get("priority"), filter.getPriority()));
+            }
+            if (filter.getAssigneeId() != null) {
+                predicates.add(cb.equal(root.get("assignee").get("id"), filter.getAssigneeId()));
+            }
+            if (filter.getProjectId() != null) {
+                predicates.add(cb.equal(root.get("project").get("id"), filter.getProjectId()));
+            }
+            if (filter.getProjectIds() != null) {
+                predicates.add(filter.getProjectIds().isEmpty()
+                        ? cb.disjunction()
+                        : root.get("project").get("id").in(filter.getProjectIds()));
+            }
+            if (filter.getDueFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.getDueFrom()));
+            }
+            if (filter.getDueTo() != null) {
+                predicates.add(cb.lessThan(root.get("dueDate"), filter.getDueTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    // Filas posteriores al cursor en orden (updated_at DESC, id DESC)
+    public static Specification<Task> after(KeysetCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("updatedAt"), cursor.getTimestamp()),
+                cb.and(
+                        cb.equal(root.get("updatedAt"), cursor.getTimestamp()),
+                        cb.lessThan(root.get("id"), cursor.getId())));
+    }
+}
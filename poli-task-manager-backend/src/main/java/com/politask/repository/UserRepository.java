@@ -1,10 +1,32 @@
 package com.politask.repository;
 
+import com.politask.config.CacheConfig;
 import com.politask.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+    // Se ejecuta en cada login y al resolver el usuario autenticado; el resultado
+    // se invalida automáticamente con cualquier escritura en la tabla users
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.USERS_BY_EMAIL)
+    })
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    // (email, id) de los propietarios y miembros de los proyectos dados
+    @Query("""
+            select p.owner.email, p.owner.id from Project p where p.id in :projectIds
+            union
+            select pu.user.email, pu.user.id from ProjectUser pu where pu.project.id in :projectIds
+            """)
+    List<Object[]> findCollaboratorsByProjectIds(@Param("projectIds") Collection<Long> projectIds);
+}
@@ -0,0 +1,347 @@
+package com.politask.search;
+
+import com.politask.dto.SearchHit;
+import com.politask.dto.SearchResults;
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.custom.CustomAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermInSetQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Índice invertido embebido (Lucene en disco local) sobre tareas, proyectos y
+ * comentarios. Todas las escrituras se serializan en un único hilo; las
+ * búsquedas usan lectores near-real-time refrescados periódicamente.
+ */
+@Component
+public class SearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndex.class);
+
+    public static final String TYPE_TASK = "task";
+    public static final String TYPE_PROJECT = "project";
+    public static final String TYPE_COMMENT = "comment";
+
+    private static final String F_UID = "uid";
+    private static final String F_TYPE = "type";
+    private static final String F_ID = "id";
+    private static final String F_PROJECT = "projectId";
+    private static final String F_TASK = "taskId";
+    private static final String F_TITLE = "title";
+    private static final String F_BODY = "body";
+    private static final int SNIPPET_LENGTH = 200;
+
+    private final Path indexDir;
+    private final Duration refreshInterval;
+    private final Duration commitInterval;
+    private final int maxResults;
+    private final ScheduledExecutorService worker;
+
+    private Analyzer analyzer;
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    public SearchIndex(@Value("${politask.search.index-dir:./data/search-index}") Path indexDir,
+                       @Value("${politask.search.refresh-interval:PT1S}") Duration refreshInterval,
+                       @Value("${politask.search.commit-interval:PT30S}") Duration commitInterval,
+                       @Value("${politask.search.max-results:1000}") int maxResults) {
+        this.indexDir = indexDir;
+        this.refreshInterval = refreshInterval;
+        this.commitInterval = commitInterval;
+        this.maxResults = maxResults;
+        this.worker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "search-indexer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        // Sin stemming: minúsculas y sin acentos para que "tarea" encuentre "Tárea"
+        analyzer = CustomAnalyzer.builder()
+                .withTokenizer(StandardTokenizerFactory.class)
+                .addTokenFilter(LowerCaseFilterFactory.class)
+                .addTokenFilter(ASCIIFoldingFilterFactory.class)
+                .build();
+        directory = FSDirectory.open(indexDir);
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+
+        long refreshMillis = refreshInterval.toMillis();
+        long commitMillis = commitInterval.toMillis();
+        worker.scheduleWithFixedDelay(this::refresh, refreshMillis, refreshMillis, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(this::commit, commitMillis, commitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void close() throws IOException, InterruptedException {
+        worker.shutdown();
+        worker.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // ---------------- Documentos ----------------
+
+    public Document toDocument(Task task) {
+        Document doc = base(TYPE_TASK, task.getId(),
+                task.getProject() != null ? task.getProject().getId() : null);
+        doc.add(new StringField(F_TASK, String.valueOf(task.getId()), Field.Store.YES));
+        addText(doc, task.getTitle(), task.getDescription());
+        return doc;
+    }
+
+    public Document toDocument(Project project) {
+        Document doc = base(TYPE_PROJECT, project.getId(), project.getId());
+        addText(doc, project.getName(), project.getDescription());
+        return doc;
+    }
+
+    public Document toDocument(Comment comment) {
+        Task task = comment.getTask();
+        Long projectId = task != null && task.getProject() != null ? task.getProject().getId() : null;
+        Document doc = base(TYPE_COMMENT, comment.getId(), projectId);
+        if (task != null) {
+            doc.add(new StringField(F_TASK, String.valueOf(task.getId()), Field.Store.YES));
+        }
+        addText(doc, null, comment.getContent());
+        return doc;
+    }
+
+    // ---------------- Escrituras (hilo del indexador) ----------------
+
+    public void upsert(Document doc) {
+        submit(() -> writer.updateDocument(new Term(F_UID, doc.get(F_UID)), doc));
+    }
+
+    public void delete(String type, Long id) {
+        submit(() -> writer.deleteDocuments(new Term(F_UID, uid(type, id))));
+    }
+
+    // Borra las tareas y sus comentarios (los borrados masivos no disparan eventos JPA)
+    public void deleteTasks(Collection<Long> taskIds) {
+        submit(() -> {
+            for (Long taskId : taskIds) {
+                writer.deleteDocuments(new Term(F_TASK, String.valueOf(taskId)));
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una reconstrucción completa en el hilo del indexador, de modo que
+     * las actualizaciones incrementales encoladas después se aplican encima.
+     */
+    public Future<?> rebuild(IndexLoader loader) {
+        return worker.submit(() -> {
+            try {
+                writer.deleteAll();
+                loader.load(doc -> {
+                    try {
+                        writer.addDocument(doc);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.commit();
+                searcherManager.maybeRefresh();
+                log.info("Search index rebuilt with {} documents", writer.getDocStats().numDocs);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Añade o reemplaza en el hilo del indexador todos los documentos que
+     * produzca {@code loader}, como una sola escritura encolada.
+     */
+    public Future<?> upsertAll(IndexLoader loader) {
+        return worker.submit(() -> {
+            try {
+                loader.load(doc -> {
+                    try {
+                        writer.updateDocument(new Term(F_UID, doc.get(F_UID)), doc);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Search index bulk update failed", e);
+                throw e;
+            }
+        });
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    // ---------------- Búsqueda ----------------
+
+    public SearchResults search(String text, Collection<Long> projectIds, int page, int size) throws IOException {
+        if (projectIds.isEmpty() || text == null || text.isBlank()) {
+            return new SearchResults(List.of(), 0, page, size);
+        }
+        int window = Math.min((page + 1) * size, maxResults);
+        int from = page * size;
+
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                new String[]{F_TITLE, F_BODY}, analyzer, Map.of(F_TITLE, 3f, F_BODY, 1f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        Query textQuery;
+        try {
+            textQuery = parser.parse(QueryParser.escape(text));
+        } catch (ParseException e) {
+            throw new IllegalArgumentException("Consulta inválida", e);
+        }
+
+        List<BytesRef> projects = new ArrayList<>(projectIds.size());
+        projectIds.forEach(id -> projects.add(new BytesRef(String.valueOf(id))));
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermInSetQuery(F_PROJECT, projects), BooleanClause.Occur.FILTER)
+                .build();
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top = searcher.search(query, Math.max(window, 1));
+            StoredFields stored = searcher.storedFields();
+            List<SearchHit> hits = new ArrayList<>();
+            for (int i = from; i < top.scoreDocs.length; i++) {
+                ScoreDoc sd = top.scoreDocs[i];
+                Document doc = stored.document(sd.doc);
+                hits.add(new SearchHit(
+                        doc.get(F_TYPE),
+                        Long.valueOf(doc.get(F_ID)),
+                        parseLong(doc.get(F_PROJECT)),
+                        parseLong(doc.get(F_TASK)),
+                        doc.get(F_TITLE),
+                        doc.get(F_BODY),
+                        sd.score));
+            }
+            return new SearchResults(hits, top.totalHits.value, page, size);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    // ---------------- Internos ----------------
+
+    private Document base(String type, Long id, Long projectId) {
+        Document doc = new Document();
+        doc.add(new StringField(F_UID, uid(type, id), Field.Store.NO));
+        doc.add(new StringField(F_TYPE, type, Field.Store.YES));
+        doc.add(new StoredField(F_ID, String.valueOf(id)));
+        if (projectId != null) {
+            doc.add(new StringField(F_PROJECT, String.valueOf(projectId), Field.Store.YES));
+        }
+        return doc;
+    }
+
+    private void addText(Document doc, String title, String body) {
+        if (title != null) {
+            doc.add(new TextField(F_TITLE, title, Field.Store.YES));
+        }
+        if (body != null) {
+            // Se indexa el texto completo pero solo se guarda un fragmento para la respuesta
+            doc.add(new TextField(F_BODY, body, Field.Store.NO));
+            doc.add(new StoredField(F_BODY, body.length() > SNIPPET_LENGTH
+                    ? body.substring(0, SNIPPET_LENGTH) : body));
+        }
+    }
+
+    private static String uid(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    private static Long parseLong(String value) {
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    private void submit(IndexWrite write) {
+        worker.execute(() -> {
+            try {
+                write.apply();
+            } catch (IOException e) {
+                log.error("Search index update failed", e);
+            }
+        });
+    }
+
+    private void refresh() {
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            log.warn("Search index refresh failed", e);
+        }
+    }
+
+    private void commit() {
+        try {
+            if (writer.hasUncommittedChanges()) {
+                writer.commit();
+            }
+        } catch (IOException e) {
+            log.warn("Search index commit failed", e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface IndexWrite {
+        void apply() throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface IndexLoader {
+        void load(java.util.function.Consumer<Document> sink);
+    }
+}
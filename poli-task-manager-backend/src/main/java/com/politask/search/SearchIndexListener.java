@@ -0,0 +1,61 @@
+package com.politask.search;
+
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.util.AfterCommit;
+import com.politask.util.BulkImport;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.apache.lucene.document.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que mantiene el índice al día. El documento se construye dentro
+ * de la sesión (con las relaciones accesibles) y se aplica tras el commit.
+ * Durante una {@link BulkImport} no se hace nada por fila: quien importa
+ * indexa el proyecto entero al final ({@link SearchIndexRebuilder#indexProject}).
+ */
+@Component
+public class SearchIndexListener {
+
+    private final ObjectProvider<SearchIndex> searchIndex;
+
+    public SearchIndexListener(ObjectProvider<SearchIndex> searchIndex) {
+        this.searchIndex = searchIndex;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Object entity) {
+        if (BulkImport.isActive()) {
+            return;
+        }
+        SearchIndex index = searchIndex.getObject();
+        Document doc;
+        if (entity instanceof Task task) {
+            doc = index.toDocument(task);
+        } else if (entity instanceof Project project) {
+            doc = index.toDocument(project);
+        } else if (entity instanceof Comment comment) {
+            doc = index.toDocument(comment);
+        } else {
+            return;
+        }
+        AfterCommit.run(() -> index.upsert(doc));
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        SearchIndex index = searchIndex.getObject();
+        if (entity instanceof Task task) {
+            AfterCommit.run(() -> index.delete(SearchIndex.TYPE_TASK, task.getId()));
+        } else if (entity instanceof Project project) {
+            AfterCommit.run(() -> index.delete(SearchIndex.TYPE_PROJECT, project.getId()));
+        } else if (entity instanceof Comment comment) {
+            AfterCommit.run(() -> index.delete(SearchIndex.TYPE_COMMENT, comment.getId()));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.politask.search;
+
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.document.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Reconstruye el índice de búsqueda desde MySQL recorriendo las tablas por
+ * páginas de id (keyset, sin OFFSET ni COUNT) y limpiando el contexto de
+ * persistencia entre páginas.
+ */
+@Service
+public class SearchIndexRebuilder {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final SearchIndex searchIndex;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTx;
+    private final TransactionTemplate primaryTx;
+    private Future<?> running;
+
+    @Value("${politask.search.rebuild-on-empty:true}")
+    private boolean rebuildOnEmpty;
+
+    public SearchIndexRebuilder(SearchIndex searchIndex, ProjectRepository projectRepository,
+                                TaskRepository taskRepository, CommentRepository commentRepository,
+                                EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.searchIndex = searchIndex;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+        this.primaryTx = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() {
+        if (rebuildOnEmpty && searchIndex.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Encola una reconstrucción completa. Si ya hay una pendiente o en curso
+     * lanza {@link IllegalStateException}: dos seguidas solo repetirían el
+     * mismo recorrido de las tablas.
+     */
+    public synchronized Future<?> rebuild() {
+        if (running != null && !running.isDone()) {
+            throw new IllegalStateException("Ya hay una reconstrucción del índice en curso");
+        }
+        running = searchIndex.rebuild(sink -> readOnlyTx.executeWithoutResult(status -> {
+            this.<Project>load(projectRepository::findPageAfter, Project::getId,
+                    searchIndex::toDocument, sink);
+            this.<Task>load(taskRepository::findPageAfter, Task::getId,
+                    searchIndex::toDocument, sink);
+            this.<Comment>load(commentRepository::findPageAfter, Comment::getId,
+                    searchIndex::toDocument, sink);
+        }));
+        return running;
+    }
+
+    /**
+     * Indexa las tareas y comentarios de un proyecto recién importado, que se
+     * guardaron sin pasar por {@link SearchIndexListener}. Lee del primario
+     * (transacción de escritura): una réplica puede no tener aún lo importado.
+     */
+    public Future<?> indexProject(Long projectId) {
+        return searchIndex.upsertAll(sink -> primaryTx.executeWithoutResult(status -> {
+            try (Stream<Task> tasks = taskRepository.streamByProjectId(projectId)) {
+                forEachInPages(tasks, task -> sink.accept(searchIndex.toDocument(task)));
+            }
+            try (Stream<Comment> comments = commentRepository.streamByProjectId(projectId)) {
+                forEachInPages(comments, comment -> sink.accept(searchIndex.toDocument(comment)));
+            }
+        }));
+    }
+
+    private <T> void forEachInPages(Stream<T> rows, Consumer<T> action) {
+        int[] count = {0};
+        rows.forEach(row -> {
+            action.accept(row);
+            if (++count[0] % PAGE_SIZE == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+
+    // Cada página continúa tras el último id de la anterior: el coste no crece con la posición
+    private <T> void load(BiFunction<Long, Limit, List<T>> pageAfter, Function<T, Long> idOf,
+                          Function<T, Document> mapper, Consumer<Document> sink) {
+        long lastId = 0;
+        List<T> page;
+        do {
+            page = pageAfter.apply(lastId, Limit.of(PAGE_SIZE));
+            page.forEach(entity -> sink.accept(mapper.apply(entity)));
+            if (!page.isEmpty()) {
+                lastId = idOf.apply(page.get(page.size() - 1));
+            }
+            entityManager.clear();
+        } while (page.size() == PAGE_SIZE);
+    }
+}
@@ -0,0 +1,13 @@
+package com.politask.service;
+
+/**
+ * El archivo de importación supera politask.projects.archive.max-size (bytes,
+ * comprimido o no) o max-rows. El controlador responde 413 y la transacción
+ * de la importación se deshace.
+ */
+public class ArchiveTooLargeException extends RuntimeException {
+
+    public ArchiveTooLargeException(String message) {
+        super(message);
+    }
+}
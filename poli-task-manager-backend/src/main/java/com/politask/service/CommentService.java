@@ -0,0 +1,130 @@
+package com.politask.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.politask.dto.CommentView;
+import com.politask.dto.CursorPage;
+import com.politask.entity.Comment;
+import com.politask.repository.CommentRepository;
+import com.politask.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+@Service
+public class CommentService {
+
+    private static final String EXPORT_SQL =
+            "SELECT id, task_id, user_id, content, created_at, updated_at FROM comments "
+                    + "WHERE task_id = ? ORDER BY created_at, id";
+
+    // Cada cuántas filas se vacía el buffer de salida durante la exportación
+    private static final int EXPORT_FLUSH_ROWS = 200;
+
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate exportTemplate;
+
+    @Value("${politask.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${politask.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    public CommentService(CommentRepository commentRepository, ObjectMapper objectMapper, DataSource dataSource,
+                          @Value("${politask.comments.export.fetch-size:500}") int exportFetchSize) {
+        this.commentRepository = commentRepository;
+        this.objectMapper = objectMapper;
+        this.exportTemplate = new JdbcTemplate(dataSource);
+        this.exportTemplate.setFetchSize(exportFetchSize);
+    }
+
+    /**
+     * Página del hilo de comentarios de una tarea en orden cronológico, con el
+     * autor de cada uno (la consulta lo trae en el mismo SELECT). El cursor
+     * {@code after} es el nextCursor de la página anterior.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<CommentView> findByTask(Long taskId, String after, Integer size) {
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+
+        List<Comment> rows;
+        if (after != null && !after.isBlank()) {
+            KeysetCursor cursor = KeysetCursor.decode(after);
+            rows = commentRepository.findThreadAfter(taskId, cursor.getTimestamp(), cursor.getId(),
+                    Limit.of(limit + 1));
+        } else {
+            rows = commentRepository.findThreadStart(taskId, Limit.of(limit + 1));
+        }
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Comment last = rows.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows.stream().map(CommentView::of).toList(), nextCursor);
+    }
+
+    /**
+     * Escribe el hilo completo como NDJSON (un objeto por línea) a medida que
+     * las filas llegan del cursor JDBC, sin cargar la lista en memoria.
+     */
+    public void exportByTask(Long taskId, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // Sin separador entre objetos raíz: cada línea termina en '\n'
+            generator.setRootValueSeparator(null);
+            int[] written = {0};
+            exportTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    writeRow(generator, rs);
+                    if (++written[0] % EXPORT_FLUSH_ROWS == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, taskId);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeRow(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeNumberField("taskId", rs.getLong("task_id"));
+        long userId = rs.getLong("user_id");
+        if (rs.wasNull()) {
+            generator.writeNullField("userId");
+        } else {
+            generator.writeNumberField("userId", userId);
+        }
+        generator.writeStringField("content", rs.getString("content"));
+        writeTimestamp(generator, "createdAt", rs.getTimestamp("created_at"));
+        writeTimestamp(generator, "updatedAt", rs.getTimestamp("updated_at"));
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, String field, Timestamp value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            // Mismo formato ISO-8601 que Jackson usa para LocalDateTime
+            generator.writeStringField(field, value.toLocalDateTime().toString());
+        }
+    }
+}
@@ -2,20 +2,38 @@ package com.politask.service;
 
 import com.politask.entity.User;
 import com.politask.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    // Administradores de la instancia (operaciones de escritura de actuator, reindexado de la búsqueda)
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES =
+            List.of(new SimpleGrantedAuthority("ROLE_" + ADMIN_ROLE));
+
     private final UserRepository userRepository;
+    private final Set<String> adminEmails;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${politask.security.admin-emails:}") Set<String> adminEmails) {
         this.userRepository = userRepository;
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
@@ -26,7 +44,7 @@ public class CustomUserDetailsService implements UserDetailsService {
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPasswordHash(),
-                new ArrayList<>() // No authorities for now
+                adminEmails.contains(user.getEmail().toLowerCase(Locale.ROOT)) ? ADMIN_AUTHORITIES : List.of()
         );
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.politask.service;
+
+/**
+ * La petición de hash/verificación no se admitió: límite por IP, por email o
+ * cola del pool de hashing llena. El controlador responde 429 con Retry-After.
+ */
+public class HashingRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public HashingRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,159 @@
+package com.politask.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.politask.util.TokenBucket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta BCrypt fuera de los hilos de Tomcat, en un pool propio con cola
+ * acotada. Antes de encolar aplica control de admisión (token bucket por IP y
+ * por email); lo que no cabe se rechaza al momento con
+ * {@link HashingRejectedException} en lugar de esperar en cola.
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final Counter rejectedByIp;
+    private final Counter rejectedByEmail;
+    private final Counter rejectedByQueue;
+
+    @Value("${politask.auth.rate-limit.ip.capacity:20}")
+    private double ipCapacity;
+
+    @Value("${politask.auth.rate-limit.ip.refill-per-second:5}")
+    private double ipRefillPerSecond;
+
+    @Value("${politask.auth.rate-limit.email.capacity:5}")
+    private double emailCapacity;
+
+    @Value("${politask.auth.rate-limit.email.refill-per-second:0.2}")
+    private double emailRefillPerSecond;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${politask.auth.hashing.threads:0}") int threads,
+                                  @Value("${politask.auth.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${politask.auth.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this.passwordEncoder = passwordEncoder;
+
+        // BCrypt es CPU puro: por defecto un hilo por núcleo
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "password.hashing");
+
+        this.ipBuckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMinutes(10))
+                .build();
+        this.emailBuckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMinutes(30))
+                .build();
+
+        this.rejectedByIp = rejectedCounter(meterRegistry, "ip");
+        this.rejectedByEmail = rejectedCounter(meterRegistry, "email");
+        this.rejectedByQueue = rejectedCounter(meterRegistry, "queue");
+    }
+
+    /** Calcula el hash de una contraseña nueva (registro). */
+    public CompletableFuture<String> encode(String email, String clientIp, String rawPassword) {
+        admit(email, clientIp);
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifica la contraseña y, si es correcta y el hash se generó con otro
+     * coste, devuelve también el hash recalculado con el coste actual.
+     */
+    public CompletableFuture<Verification> verify(String email, String clientIp, String rawPassword,
+                                                  String storedHash) {
+        admit(email, clientIp);
+        return submit(() -> {
+            if (!passwordEncoder.matches(rawPassword, storedHash)) {
+                return new Verification(false, null);
+            }
+            String upgradedHash = passwordEncoder.upgradeEncoding(storedHash)
+                    ? passwordEncoder.encode(rawPassword)
+                    : null;
+            return new Verification(true, upgradedHash);
+        });
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void admit(String email, String clientIp) {
+        TokenBucket ipBucket = ipBuckets.get(clientIp, ip -> new TokenBucket(ipCapacity, ipRefillPerSecond));
+        if (!ipBucket.tryConsume()) {
+            rejectedByIp.increment();
+            throw new HashingRejectedException("Demasiados intentos desde esta dirección",
+                    Math.max(1, ipBucket.secondsUntilNextToken()));
+        }
+        String emailKey = email.trim().toLowerCase(Locale.ROOT);
+        TokenBucket emailBucket = emailBuckets.get(emailKey,
+                key -> new TokenBucket(emailCapacity, emailRefillPerSecond));
+        if (!emailBucket.tryConsume()) {
+            rejectedByEmail.increment();
+            throw new HashingRejectedException("Demasiados intentos para esta cuenta",
+                    Math.max(1, emailBucket.secondsUntilNextToken()));
+        }
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException e) {
+            rejectedByQueue.increment();
+            throw new HashingRejectedException("Servicio de autenticación saturado, inténtalo de nuevo", 1);
+        }
+    }
+
+    private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("password.hashing.rejected")
+                .description("Peticiones de login/registro rechazadas por control de admisión")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public record Verification(boolean matches, String upgradedHash) {
+    }
+}
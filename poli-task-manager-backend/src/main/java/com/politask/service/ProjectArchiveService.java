@@ -0,0 +1,365 @@
+package com.politask.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.politask.access.ProjectAccessCache;
+import com.politask.access.ProjectMemberships;
+import com.politask.dto.ProjectArchiveEntry;
+import com.politask.dto.ProjectArchiveEntry.CommentEntry;
+import com.politask.dto.ProjectArchiveEntry.MemberEntry;
+import com.politask.dto.ProjectArchiveEntry.ProjectEntry;
+import com.politask.dto.ProjectArchiveEntry.TaskEntry;
+import com.politask.dto.ProjectImportResult;
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.ProjectUser;
+import com.politask.entity.ProjectUserId;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.ProjectUserRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.search.SearchIndexRebuilder;
+import com.politask.util.AfterCommit;
+import com.politask.util.BulkImport;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Exporta e importa proyectos completos en NDJSON (ver {@link ProjectArchiveEntry}).
+ * La exportación recorre tareas y comentarios con consultas en streaming y
+ * vacía el contexto de persistencia cada {@code chunk-size} filas, así que la
+ * memoria no crece con el tamaño del proyecto. La importación persiste en
+ * bloques del mismo tamaño, que Hibernate envía como lotes JDBC, y solo
+ * retiene la correspondencia de ids de tareas entre bloques.
+ */
+@Service
+public class ProjectArchiveService {
+
+    private final ProjectRepository projectRepository;
+    private final ProjectUserRepository projectUserRepository;
+    private final TaskRepository taskRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final ProjectAccessCache accessCache;
+    private final SearchIndexRebuilder searchIndexRebuilder;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter entryWriter;
+
+    @Value("${politask.projects.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${politask.projects.archive.max-size:50MB}")
+    private DataSize maxSize;
+
+    @Value("${politask.projects.archive.max-rows:100000}")
+    private int maxRows;
+
+    public ProjectArchiveService(ProjectRepository projectRepository, ProjectUserRepository projectUserRepository,
+                                 TaskRepository taskRepository, CommentRepository commentRepository,
+                                 UserRepository userRepository, ProjectAccessCache accessCache,
+                                 SearchIndexRebuilder searchIndexRebuilder, EntityManager entityManager,
+                                 ObjectMapper objectMapper) {
+        this.projectRepository = projectRepository;
+        this.projectUserRepository = projectUserRepository;
+        this.taskRepository = taskRepository;
+        this.commentRepository = commentRepository;
+        this.userRepository = userRepository;
+        this.accessCache = accessCache;
+        this.searchIndexRebuilder = searchIndexRebuilder;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.entryWriter = objectMapper.writerFor(ProjectArchiveEntry.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Escribe el proyecto en {@code out} (sin comprimir; el llamador decide el
+     * formato de transporte). Devuelve false si el proyecto no existe.
+     */
+    @Transactional(readOnly = true)
+    public boolean exportProject(Long projectId, OutputStream out) throws IOException {
+        Optional<Project> projectOpt = projectRepository.findById(projectId);
+        if (projectOpt.isEmpty()) {
+            return false;
+        }
+        Project project = projectOpt.get();
+
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+
+            write(generator, new ProjectEntry(project.getId(), project.getName(), project.getDescription(),
+                    emailOf(project.getOwner()), project.getCreatedAt(), project.getUpdatedAt()));
+
+            for (ProjectUser member : projectUserRepository.findByProjectId(projectId)) {
+                write(generator, new MemberEntry(emailOf(member.getUser()), member.getRole(), member.getJoinedAt()));
+            }
+
+            try (Stream<Task> tasks = taskRepository.streamByProjectId(projectId)) {
+                forEachInChunks(tasks, task -> write(generator, new TaskEntry(task.getId(), task.getTitle(),
+                        task.getDescription(), task.getStatus(), task.getPriority(), task.getDueDate(),
+                        emailOf(task.getAssignee()), task.getCreatedAt(), task.getUpdatedAt())));
+            }
+
+            try (Stream<Comment> comments = commentRepository.streamByProjectId(projectId)) {
+                forEachInChunks(comments, comment -> write(generator, new CommentEntry(comment.getId(),
+                        comment.getTask().getId(), emailOf(comment.getUser()), comment.getContent(),
+                        comment.getCreatedAt(), comment.getUpdatedAt())));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return true;
+    }
+
+    /**
+     * Crea un proyecto nuevo, propiedad de {@code owner}, a partir de un
+     * archivo exportado. Todo ocurre en una transacción: un archivo inválido
+     * no deja datos a medias. Acepta el archivo comprimido con gzip o en
+     * NDJSON plano, hasta max-size bytes (antes y después de descomprimir) y
+     * max-rows líneas; si no, {@link ArchiveTooLargeException}.
+     *
+     * <p>Los emails del archivo no se dan por buenos: solo se añaden como
+     * miembros (y se conservan como responsables de tareas) los usuarios que
+     * ya colaboran con {@code owner} en algún proyecto que este administra; el
+     * resto se omite. Los comentarios se atribuyen a {@code owner}.
+     *
+     * <p>Las filas se guardan en una {@link BulkImport}: el historial solo
+     * registra el alta del proyecto y el índice de búsqueda se actualiza con
+     * una única pasada tras el commit.
+     */
+    @Transactional(rollbackFor = IOException.class)
+    public ProjectImportResult importProject(InputStream in, User owner) throws IOException {
+        InputStream limited = new LimitedInputStream(in, maxSize.toBytes());
+        try (MappingIterator<ProjectArchiveEntry> entries = objectMapper.readerFor(ProjectArchiveEntry.class)
+                .readValues(new LimitedInputStream(decompressIfGzip(limited), maxSize.toBytes()))) {
+            if (!entries.hasNext() || !(entries.next() instanceof ProjectEntry projectEntry)) {
+                throw new IllegalArgumentException("El archivo debe empezar por la línea del proyecto");
+            }
+
+            Project project = new Project();
+            project.setName(projectEntry.name());
+            project.setDescription(projectEntry.description());
+            project.setOwner(owner);
+            setIfPresent(projectEntry.createdAt(), project::setCreatedAt);
+            setIfPresent(projectEntry.updatedAt(), project::setUpdatedAt);
+            projectRepository.save(project);
+            entityManager.flush();
+            Long projectId = project.getId();
+
+            ProjectImportResult result = new ProjectImportResult(projectId);
+            Map<String, Long> collaborators = collaboratorsOf(owner);
+            // Usuarios añadidos como miembros (además del propietario): los únicos responsables válidos
+            Set<Long> memberIds = new HashSet<>();
+            memberIds.add(owner.getId());
+            // Id de la tarea en el archivo -> id de la tarea nueva
+            Map<Long, Long> taskIds = new HashMap<>();
+            int rows = 1;
+            int pending = 0;
+
+            try (BulkImport.Scope ignored = BulkImport.begin()) {
+                while (entries.hasNext()) {
+                    ProjectArchiveEntry entry = entries.next();
+                    if (++rows > maxRows) {
+                        throw new ArchiveTooLargeException("El archivo supera " + maxRows + " líneas");
+                    }
+                    if (entry instanceof MemberEntry member) {
+                        Long userId = member.email() != null ? collaborators.get(member.email()) : null;
+                        if (userId == null || !memberIds.add(userId)) {
+                            result.setSkippedMembers(result.getSkippedMembers() + 1);
+                            continue;
+                        }
+                        ProjectUser projectUser = new ProjectUser();
+                        projectUser.setId(new ProjectUserId(projectId, userId));
+                        projectUser.setProject(entityManager.getReference(Project.class, projectId));
+                        projectUser.setUser(entityManager.getReference(User.class, userId));
+                        projectUser.setRole(member.role());
+                        setIfPresent(member.joinedAt(), projectUser::setJoinedAt);
+                        entityManager.persist(projectUser);
+                        result.setMembers(result.getMembers() + 1);
+                    } else if (entry instanceof TaskEntry taskEntry) {
+                        Task task = new Task();
+                        task.setTitle(taskEntry.title());
+                        task.setDescription(taskEntry.description());
+                        task.setStatus(taskEntry.status());
+                        task.setPriority(taskEntry.priority());
+                        task.setDueDate(taskEntry.dueDate());
+                        task.setProject(entityManager.getReference(Project.class, projectId));
+                        Long assigneeId = taskEntry.assigneeEmail() != null
+                                ? collaborators.get(taskEntry.assigneeEmail()) : null;
+                        task.setAssignee(assigneeId != null && memberIds.contains(assigneeId)
+                                ? entityManager.getReference(User.class, assigneeId) : null);
+                        setIfPresent(taskEntry.createdAt(), task::setCreatedAt);
+                        setIfPresent(taskEntry.updatedAt(), task::setUpdatedAt);
+                        entityManager.persist(task);
+                        if (taskEntry.id() != null) {
+                            taskIds.put(taskEntry.id(), task.getId());
+                        }
+                        result.setTasks(result.getTasks() + 1);
+                    } else if (entry instanceof CommentEntry commentEntry) {
+                        Long taskId = taskIds.get(commentEntry.taskId());
+                        if (taskId == null) {
+                            throw new IllegalArgumentException("Comentario con tarea desconocida: " + commentEntry.taskId());
+                        }
+                        Comment comment = new Comment();
+                        comment.setTask(entityManager.getReference(Task.class, taskId));
+                        comment.setUser(entityManager.getReference(User.class, owner.getId()));
+                        comment.setContent(commentEntry.content());
+                        setIfPresent(commentEntry.createdAt(), comment::setCreatedAt);
+                        setIfPresent(commentEntry.updatedAt(), comment::setUpdatedAt);
+                        entityManager.persist(comment);
+                        result.setComments(result.getComments() + 1);
+                    } else {
+                        throw new IllegalArgumentException("Solo puede haber una línea de proyecto por archivo");
+                    }
+
+                    if (++pending == chunkSize) {
+                        flushAndClear();
+                        pending = 0;
+                    }
+                }
+                // Dentro del ámbito: los eventos de Hibernate de las últimas filas salen en este flush
+                flushAndClear();
+            }
+            AfterCommit.run(() -> searchIndexRebuilder.indexProject(projectId));
+            return result;
+        }
+    }
+
+    private static InputStream decompressIfGzip(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        // Cabecera mágica de gzip: 1f 8b
+        if (first == 0x1f && second == 0x8b) {
+            return new GZIPInputStream(buffered);
+        }
+        return buffered;
+    }
+
+    // Email -> id de quien es propietario o miembro de algún proyecto que owner puede administrar
+    private Map<String, Long> collaboratorsOf(User owner) {
+        ProjectMemberships memberships = accessCache.forUser(owner.getId());
+        List<Long> managed = memberships.projectIds().stream().filter(memberships::canManage).toList();
+        Map<String, Long> collaborators = new HashMap<>();
+        if (!managed.isEmpty()) {
+            for (Object[] row : userRepository.findCollaboratorsByProjectIds(managed)) {
+                collaborators.put((String) row[0], (Long) row[1]);
+            }
+        }
+        collaborators.put(owner.getEmail(), owner.getId());
+        return collaborators;
+    }
+
+    private <T> void forEachInChunks(Stream<T> rows, Consumer<T> action) {
+        int[] count = {0};
+        rows.forEach(row -> {
+            action.accept(row);
+            // Las filas ya escritas no se vuelven a usar: se sueltan del contexto de persistencia
+            if (++count[0] % chunkSize == 0) {
+                entityManager.clear();
+            }
+        });
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void write(JsonGenerator generator, ProjectArchiveEntry entry) {
+        try {
+            entryWriter.writeValue(generator, entry);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String emailOf(User user) {
+        return user != null ? user.getEmail() : null;
+    }
+
+    private static void setIfPresent(LocalDateTime value, Consumer<LocalDateTime> setter) {
+        if (value != null) {
+            setter.accept(value);
+        }
+    }
+
+    /** Corta la lectura con {@link ArchiveTooLargeException} al pasar de {@code limit} bytes. */
+    private static final class LimitedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count(skipped);
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        private void count(long n) {
+            count += n;
+            if (count > limit) {
+                throw new ArchiveTooLargeException("El archivo supera " + DataSize.ofBytes(limit).toMegabytes() + " MB");
+            }
+        }
+    }
+}
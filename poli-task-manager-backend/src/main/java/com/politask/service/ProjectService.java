@@ -1,16 +1,32 @@
 package com.politask.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.politask.dto.CursorPage;
+import com.politask.dto.ProjectPatch;
+import com.politask.dto.ProjectSummary;
 import com.politask.entity.Project;
 import com.politask.repository.ProjectRepository;
+import com.politask.util.KeysetCursor;
 
 @Service
 public class ProjectService {
     private final ProjectRepository projectRepository;
+
+    @Value("${politask.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${politask.pagination.max-page-size:200}")
+    private int maxPageSize;
     
     public ProjectService(ProjectRepository projectRepository) {
         this.projectRepository = projectRepository;
@@ -20,6 +36,27 @@ public class ProjectService {
         return projectRepository.findAll();
     }
 
+    /**
+     * Página de resúmenes de los proyectos indicados (los que el usuario puede
+     * ver), por id; {@code cursor} es el nextCursor de la página anterior.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectSummary> getProjectSummaries(Collection<Long> projectIds, String cursor, Integer size) {
+        if (projectIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+        int limit = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        long afterId = cursor != null && !cursor.isBlank() ? KeysetCursor.decodeId(cursor) : 0;
+
+        List<ProjectSummary> rows = projectRepository.findSummaries(projectIds, afterId, Limit.of(limit + 1));
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            nextCursor = KeysetCursor.encodeId(rows.get(limit - 1).getId());
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
     public Optional<Project> getProjectById(Long id) {
         return projectRepository.findById(id);
     }
@@ -36,12 +73,43 @@ public class ProjectService {
     public Project updateProject(Project project) {
         try {
             return projectRepository.save(project);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // Conflicto de versión: el controlador lo traduce a 412
+            throw e;
         } catch (Exception e) {
             e.printStackTrace();
             throw new RuntimeException("Error al actualizar el proyecto: " + e.getMessage());
         }
     }
 
+    /**
+     * Aplica un JSON Merge Patch ya validado. Con @DynamicUpdate el UPDATE solo
+     * incluye las columnas cambiadas; el proyecto normalmente sale del cache de
+     * segundo nivel, así que la lectura previa no llega a la base de datos.
+     */
+    @Transactional
+    public Optional<Project> patchProject(Long id, ProjectPatch patch, Long expectedVersion) {
+        Optional<Project> existing = projectRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Project project = existing.get();
+        if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Project.class, id);
+        }
+        if (patch.isEmpty()) {
+            return existing;
+        }
+
+        if (patch.has("name")) project.setName(patch.getName());
+        if (patch.has("description")) project.setDescription(patch.getDescription());
+        project.setUpdatedAt(LocalDateTime.now());
+
+        projectRepository.saveAndFlush(project);
+        return Optional.of(project);
+    }
+
     public boolean deleteProject(Long id) {
         try {
             if (projectRepository.existsById(id)) {
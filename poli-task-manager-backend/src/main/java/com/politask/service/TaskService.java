@@ -0,0 +1,381 @@
+package com.politask.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.politask.access.ProjectAccessCache;
+import com.politask.access.ProjectMemberships;
+import com.politask.activity.ActivityLogListener;
+import com.politask.dto.BulkTaskOperation;
+import com.politask.dto.BulkTaskResult;
+import com.politask.dto.CursorPage;
+import com.politask.dto.TaskFilter;
+import com.politask.dto.TaskDetail;
+import com.politask.dto.TaskPatch;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.event.ProjectEvent;
+import com.politask.event.ProjectEventBus;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.TaskSpecifications;
+import com.politask.repository.UserRepository;
+import com.politask.search.SearchIndex;
+import com.politask.stats.TaskCounterListener;
+import com.politask.util.AfterCommit;
+import com.politask.util.KeysetCursor;
+
+@Service
+public class TaskService {
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("updatedAt"), Sort.Order.desc("id"));
+    private static final String NOT_A_MEMBER = "El usuario no es miembro del proyecto";
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final UserRepository userRepository;
+    private final CommentRepository commentRepository;
+    private final CommentService commentService;
+    private final ProjectEventBus eventBus;
+    private final SearchIndex searchIndex;
+    private final TaskCounterListener taskCounterListener;
+    private final ActivityLogListener activityLogListener;
+    private final ProjectAccessCache accessCache;
+
+    @Value("${politask.pagination.default-page-size:50}")
+    private int defaultPageSize;
+
+    @Value("${politask.pagination.max-page-size:200}")
+    private int maxPageSize;
+
+    @Value("${politask.tasks.bulk.max-operations:500}")
+    private int maxBulkOperations;
+
+    public TaskService(TaskRepository taskRepository, ProjectRepository projectRepository,
+                       UserRepository userRepository, CommentRepository commentRepository,
+                       CommentService commentService, ProjectEventBus eventBus, SearchIndex searchIndex,
+                       TaskCounterListener taskCounterListener, ActivityLogListener activityLogListener,
+                       ProjectAccessCache accessCache) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.userRepository = userRepository;
+        this.commentRepository = commentRepository;
+        this.commentService = commentService;
+        this.eventBus = eventBus;
+        this.searchIndex = searchIndex;
+        this.taskCounterListener = taskCounterListener;
+        this.activityLogListener = activityLogListener;
+        this.accessCache = accessCache;
+    }
+
+    /**
+     * Devuelve una página de tareas ordenadas por (updated_at DESC, id DESC).
+     * Se pide una fila extra para saber si hay más resultados sin ejecutar COUNT(*).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Task> findTasks(TaskFilter filter, String cursor, Integer size) {
+        int limit = resolvePageSize(size);
+
+        Specification<Task> spec = TaskSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(TaskSpecifications.after(KeysetCursor.decode(cursor)));
+        }
+
+        List<Task> rows = taskRepository.findBy(spec, q -> q.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+
+        String nextCursor = null;
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            Task last = rows.get(limit - 1);
+            nextCursor = new KeysetCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(rows, nextCursor);
+    }
+
+    /**
+     * Vista de detalle con las relaciones pedidas en {@code expand}. El número
+     * de consultas es fijo: la tarea sola (sin expand) o con proyecto y
+     * responsable en un único SELECT con joins, más una consulta para la
+     * primera página de comentarios con su autor si se pide "comments".
+     */
+    @Transactional(readOnly = true)
+    public Optional<TaskDetail> findDetail(Long id, Set<TaskDetail.Expand> expand) {
+        boolean joinRelations = expand.contains(TaskDetail.Expand.PROJECT)
+                || expand.contains(TaskDetail.Expand.ASSIGNEE);
+        Optional<Task> found = joinRelations ? taskRepository.findDetailById(id) : taskRepository.findById(id);
+        return found.map(task -> {
+            TaskDetail detail = TaskDetail.of(task);
+            if (expand.contains(TaskDetail.Expand.PROJECT)) {
+                detail.expandProject(task.getProject());
+            }
+            if (expand.contains(TaskDetail.Expand.ASSIGNEE)) {
+                detail.expandAssignee(task.getAssignee());
+            }
+            if (expand.contains(TaskDetail.Expand.COMMENTS)) {
+                detail.expandComments(commentService.findByTask(id, null, null));
+            }
+            return detail;
+        });
+    }
+
+    /**
+     * Reemplaza los campos editables de la tarea (PUT): los campos nulos de
+     * {@code changes} vacían la columna. Con {@code expectedVersion} la actualización solo procede si la
+     * tarea sigue en esa versión; si no, o si otra escritura se adelanta antes del
+     * flush ("where version = ?"), lanza ObjectOptimisticLockingFailureException.
+     */
+    @Transactional
+    public Optional<Task> updateTask(Long id, Task changes, Long expectedVersion) {
+        Optional<Task> existing = taskRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Task task = existing.get();
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+
+        // Reemplazo completo: un campo ausente en el cuerpo (null) vacía la columna
+        task.setTitle(changes.getTitle());
+        task.setDescription(changes.getDescription());
+        task.setStatus(changes.getStatus());
+        task.setPriority(changes.getPriority());
+        task.setDueDate(changes.getDueDate());
+        task.setUpdatedAt(LocalDateTime.now());
+
+        // El flush incrementa la versión ahora, para devolver la ETag nueva
+        taskRepository.saveAndFlush(task);
+        eventBus.publishTask(ProjectEvent.TASK_UPDATED, task);
+        return Optional.of(task);
+    }
+
+    /**
+     * Aplica un JSON Merge Patch ya validado. La tarea se lee por clave primaria
+     * (sin joins) y, gracias a @DynamicUpdate, el UPDATE solo escribe las columnas
+     * cambiadas más updated_at y version: un cambio de estado queda en
+     * "update tasks set status=?, updated_at=?, version=? where id=? and version=?".
+     * La lectura previa se mantiene porque los contadores, el índice de búsqueda y
+     * los eventos se calculan a partir del estado anterior y del nuevo.
+     */
+    @Transactional
+    public Optional<Task> patchTask(Long id, TaskPatch patch, Long expectedVersion) {
+        Optional<Task> existing = taskRepository.findById(id);
+        if (existing.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Task task = existing.get();
+        if (expectedVersion != null && !expectedVersion.equals(task.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+        if (patch.isEmpty()) {
+            return existing;
+        }
+
+        if (patch.has("assigneeId")) {
+            if (patch.getAssigneeId() == null) {
+                task.setAssignee(null);
+            } else {
+                User assignee = userRepository.findById(patch.getAssigneeId())
+                        .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
+                if (!isMember(assignee.getId(), task.getProject())) {
+                    throw new IllegalArgumentException(NOT_A_MEMBER);
+                }
+                task.setAssignee(assignee);
+            }
+        }
+        if (patch.has("title")) task.setTitle(patch.getTitle());
+        if (patch.has("description")) task.setDescription(patch.getDescription());
+        if (patch.has("status")) task.setStatus(patch.getStatus());
+        if (patch.has("priority")) task.setPriority(patch.getPriority());
+        if (patch.has("dueDate")) task.setDueDate(patch.getDueDate());
+        task.setUpdatedAt(LocalDateTime.now());
+
+        taskRepository.saveAndFlush(task);
+        eventBus.publishTask(ProjectEvent.TASK_UPDATED, task);
+        return Optional.of(task);
+    }
+
+    /**
+     * Aplica un lote de operaciones en una única transacción. Las entidades
+     * referenciadas se cargan en bloque y las escrituras se envían en lotes JDBC
+     * al hacer flush. Las operaciones inválidas se reportan sin abortar el resto;
+     * si alguna toca un proyecto existente al que el usuario no tiene acceso se
+     * rechaza el lote entero con AccessDeniedException.
+     */
+    @Transactional
+    public List<BulkTaskResult> applyBulk(List<BulkTaskOperation> operations, ProjectMemberships access) {
+        if (operations.size() > maxBulkOperations) {
+            throw new IllegalArgumentException("Se permiten como máximo " + maxBulkOperations + " operaciones por petición");
+        }
+
+        Set<Long> taskIds = new HashSet<>();
+        Set<Long> userIds = new HashSet<>();
+        Set<Long> projectIds = new HashSet<>();
+        for (BulkTaskOperation op : operations) {
+            if (op.getTaskId() != null) taskIds.add(op.getTaskId());
+            if (op.getAssigneeId() != null) userIds.add(op.getAssigneeId());
+            if (op.getProjectId() != null) projectIds.add(op.getProjectId());
+        }
+
+        Map<Long, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        Set<Long> existingProjects = projectIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(projectRepository.findExistingIds(projectIds));
+        checkBulkAccess(operations, tasks, existingProjects, access);
+
+        BulkTaskResult[] results = new BulkTaskResult[operations.size()];
+        List<Task> created = new ArrayList<>();
+        List<Integer> createdIndexes = new ArrayList<>();
+        Set<Long> deleted = new HashSet<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperation op = operations.get(i);
+            BulkTaskOperation.Type type = op.getType();
+
+            if (type == BulkTaskOperation.Type.CREATE) {
+                if (op.getTitle() == null || op.getTitle().isBlank()) {
+                    results[i] = BulkTaskResult.error(i, type, null, "El título es obligatorio");
+                } else if (op.getProjectId() == null || !existingProjects.contains(op.getProjectId())) {
+                    results[i] = BulkTaskResult.error(i, type, null, "Proyecto no encontrado");
+                } else if (op.getAssigneeId() != null && !users.containsKey(op.getAssigneeId())) {
+                    results[i] = BulkTaskResult.error(i, type, null, "Usuario no encontrado");
+                } else if (op.getAssigneeId() != null
+                        && !accessCache.forUser(op.getAssigneeId()).canRead(op.getProjectId())) {
+                    results[i] = BulkTaskResult.error(i, type, null, NOT_A_MEMBER);
+                } else {
+                    Task task = new Task();
+                    task.setTitle(op.getTitle());
+                    task.setDescription(op.getDescription());
+                    task.setStatus(op.getStatus());
+                    task.setPriority(op.getPriority());
+                    task.setDueDate(op.getDueDate());
+                    task.setProject(projectRepository.getReferenceById(op.getProjectId()));
+                    task.setAssignee(op.getAssigneeId() != null ? users.get(op.getAssigneeId()) : null);
+                    created.add(task);
+                    createdIndexes.add(i);
+                }
+                continue;
+            }
+
+            Task task = op.getTaskId() != null ? tasks.get(op.getTaskId()) : null;
+            if (task == null || deleted.contains(op.getTaskId())) {
+                results[i] = BulkTaskResult.error(i, type, op.getTaskId(), "Tarea no encontrada");
+                continue;
+            }
+
+            switch (type) {
+                case UPDATE_STATUS -> {
+                    if (op.getStatus() == null || op.getStatus().isBlank()) {
+                        results[i] = BulkTaskResult.error(i, type, task.getId(), "El estado es obligatorio");
+                        continue;
+                    }
+                    task.setStatus(op.getStatus());
+                    task.setUpdatedAt(now);
+                }
+                case REASSIGN -> {
+                    // assigneeId nulo deja la tarea sin asignar
+                    if (op.getAssigneeId() != null && !users.containsKey(op.getAssigneeId())) {
+                        results[i] = BulkTaskResult.error(i, type, task.getId(), "Usuario no encontrado");
+                        continue;
+                    }
+                    if (op.getAssigneeId() != null && !isMember(op.getAssigneeId(), task.getProject())) {
+                        results[i] = BulkTaskResult.error(i, type, task.getId(), NOT_A_MEMBER);
+                        continue;
+                    }
+                    task.setAssignee(op.getAssigneeId() != null ? users.get(op.getAssigneeId()) : null);
+                    task.setUpdatedAt(now);
+                }
+                case DELETE -> deleted.add(task.getId());
+                default -> throw new IllegalStateException("Operación no soportada: " + type);
+            }
+            results[i] = BulkTaskResult.ok(i, type, task.getId());
+        }
+
+        // Con el generador por secuencia los ids se asignan aquí y los INSERT se agrupan en el flush
+        taskRepository.saveAll(created);
+        for (int j = 0; j < created.size(); j++) {
+            int index = createdIndexes.get(j);
+            results[index] = BulkTaskResult.ok(index, BulkTaskOperation.Type.CREATE, created.get(j).getId());
+        }
+
+        if (!deleted.isEmpty()) {
+            commentRepository.deleteByTaskIdIn(deleted);
+            deleted.forEach(id -> {
+                taskCounterListener.recordBulkDelete(tasks.get(id));
+                activityLogListener.recordBulkDelete(tasks.get(id));
+            });
+            taskRepository.deleteAllByIdInBatch(deleted);
+            // Los DELETE masivos no pasan por los listeners JPA del índice, de los contadores ni del historial
+            AfterCommit.run(() -> searchIndex.deleteTasks(deleted));
+        }
+
+        // Los eventos se emiten tras el commit
+        created.forEach(task -> eventBus.publishTask(ProjectEvent.TASK_CREATED, task));
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperation.Type type = operations.get(i).getType();
+            if (!results[i].isSuccess() || type == BulkTaskOperation.Type.CREATE) {
+                continue;
+            }
+            Task task = tasks.get(results[i].getTaskId());
+            eventBus.publishTask(type == BulkTaskOperation.Type.DELETE
+                    ? ProjectEvent.TASK_DELETED : ProjectEvent.TASK_UPDATED, task);
+        }
+
+        return Arrays.asList(results);
+    }
+
+    private static void checkBulkAccess(List<BulkTaskOperation> operations, Map<Long, Task> tasks,
+                                        Set<Long> existingProjects, ProjectMemberships access) {
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperation op = operations.get(i);
+            boolean allowed;
+            if (op.getType() == BulkTaskOperation.Type.CREATE) {
+                // Un proyecto inexistente se reporta en la propia operación
+                allowed = !existingProjects.contains(op.getProjectId()) || access.canRead(op.getProjectId());
+            } else {
+                Task task = op.getTaskId() != null ? tasks.get(op.getTaskId()) : null;
+                // getId() de la referencia LAZY no inicializa el proyecto
+                allowed = task == null
+                        || (task.getProject() != null && access.canRead(task.getProject().getId()));
+            }
+            if (!allowed) {
+                throw new AccessDeniedException("Sin acceso al proyecto de la operación " + i);
+            }
+        }
+    }
+
+    // Como en la importación: solo se asigna a quien puede abrir la tarea (propietario o miembro)
+    private boolean isMember(Long userId, Project project) {
+        return project != null && accessCache.forUser(userId).canRead(project.getId());
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
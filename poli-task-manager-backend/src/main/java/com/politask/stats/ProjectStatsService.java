@@ -0,0 +1,133 @@
+package com.politask.stats;
+
+import com.politask.dto.ProjectStats;
+import com.politask.entity.ProjectTaskCounter;
+import com.politask.repository.ProjectTaskCounterRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.util.ScheduledJobLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Estadísticas por proyecto servidas desde project_task_counters. Las tareas
+ * vencidas dependen de la hora actual, así que se cuentan en la lectura.
+ */
+@Service
+public class ProjectStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProjectStatsService.class);
+
+    // Recalculo completo: TOTAL, STATUS, PRIORITY y ASSIGNEE con un INSERT ... SELECT cada uno
+    private static final String[] REBUILD_SQL = {
+            "INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count) "
+                    + "SELECT project_id, 'TOTAL', 'TOTAL', COUNT(*) FROM tasks WHERE project_id IS NOT NULL %s "
+                    + "GROUP BY project_id",
+            "INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count) "
+                    + "SELECT project_id, 'STATUS', COALESCE(status, 'NONE'), COUNT(*) FROM tasks "
+                    + "WHERE project_id IS NOT NULL %s GROUP BY project_id, COALESCE(status, 'NONE')",
+            "INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count) "
+                    + "SELECT project_id, 'PRIORITY', COALESCE(priority, 'NONE'), COUNT(*) FROM tasks "
+                    + "WHERE project_id IS NOT NULL %s GROUP BY project_id, COALESCE(priority, 'NONE')",
+            "INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count) "
+                    + "SELECT project_id, 'ASSIGNEE', COALESCE(CAST(assignee_id AS CHAR), 'NONE'), COUNT(*) FROM tasks "
+                    + "WHERE project_id IS NOT NULL %s GROUP BY project_id, COALESCE(CAST(assignee_id AS CHAR), 'NONE')"
+    };
+
+    private static final String RECONCILE_JOB = "stats-reconcile";
+
+    private final ProjectTaskCounterRepository counterRepository;
+    private final TaskRepository taskRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobLock jobLock;
+
+    @Value("${politask.stats.reconcile-lock:PT1H}")
+    private Duration reconcileLock;
+
+    public ProjectStatsService(ProjectTaskCounterRepository counterRepository, TaskRepository taskRepository,
+                               JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ScheduledJobLock jobLock) {
+        this.counterRepository = counterRepository;
+        this.taskRepository = taskRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobLock = jobLock;
+    }
+
+    @Transactional(readOnly = true)
+    public ProjectStats getStats(Long projectId) {
+        long total = 0;
+        Map<String, Long> byStatus = new TreeMap<>();
+        Map<String, Long> byPriority = new TreeMap<>();
+        Map<String, Long> byAssignee = new TreeMap<>();
+
+        for (ProjectTaskCounter counter : counterRepository.findByIdProjectId(projectId)) {
+            if (counter.getTaskCount() == 0) {
+                continue;
+            }
+            String value = counter.getId().getValue();
+            switch (counter.getId().getDimension()) {
+                case TaskCounterListener.TOTAL -> total = counter.getTaskCount();
+                case TaskCounterListener.STATUS -> byStatus.put(value, counter.getTaskCount());
+                case TaskCounterListener.PRIORITY -> byPriority.put(value, counter.getTaskCount());
+                case TaskCounterListener.ASSIGNEE -> byAssignee.put(value, counter.getTaskCount());
+                default -> { }
+            }
+        }
+
+        long overdue = taskRepository.countOverdueByProjectId(projectId, LocalDateTime.now());
+        return new ProjectStats(projectId, total, overdue, byStatus, byPriority, byAssignee);
+    }
+
+    /**
+     * Recalcula los contadores desde cero para corregir desviaciones. Con
+     * projectId nulo recalcula todos los proyectos. El DELETE y los INSERT ...
+     * SELECT van en una sola transacción: mientras dura, las lecturas siguen
+     * viendo los contadores anteriores y los UPSERT de {@link TaskCounterListener}
+     * esperan a que termine en lugar de colarse entre el borrado y el recalculo.
+     */
+    @Transactional
+    public void reconcile(Long projectId) {
+        rebuild(projectId);
+    }
+
+    // Todas las instancias tienen el mismo cron: solo la que obtiene el turno
+    // recalcula. Se llama a rebuild con TransactionTemplate porque invocar
+    // reconcile desde aquí no pasaría por el proxy de @Transactional
+    @Scheduled(cron = "${politask.stats.reconcile-cron:0 0 3 * * *}")
+    public void reconcileAll() {
+        if (!jobLock.tryAcquire(RECONCILE_JOB, reconcileLock)) {
+            log.info("Project task counter reconciliation skipped: another instance holds the lock");
+            return;
+        }
+        long start = System.currentTimeMillis();
+        transactionTemplate.executeWithoutResult(status -> rebuild(null));
+        log.info("Project task counters reconciled in {} ms", System.currentTimeMillis() - start);
+    }
+
+    private void rebuild(Long projectId) {
+        if (projectId == null) {
+            jdbcTemplate.update("DELETE FROM project_task_counters");
+            for (String sql : REBUILD_SQL) {
+                jdbcTemplate.update(String.format(sql, ""));
+            }
+        } else {
+            jdbcTemplate.update("DELETE FROM project_task_counters WHERE project_id = ?", projectId);
+            for (String sql : REBUILD_SQL) {
+                jdbcTemplate.update(String.format(sql, "AND project_id = ?"), projectId);
+            }
+        }
+    }
+}
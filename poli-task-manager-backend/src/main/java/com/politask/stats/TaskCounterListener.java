@@ -0,0 +1,196 @@
+package com.politask.stats;
+
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene project_task_counters a partir de los eventos de Hibernate sobre
+ * {@link Task}. Los deltas de una sesión se acumulan y se aplican en un único
+ * lote de UPSERT justo antes del commit, dentro de la misma transacción.
+ */
+@Component
+public class TaskCounterListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    static final String TOTAL = "TOTAL";
+    static final String STATUS = "STATUS";
+    static final String PRIORITY = "PRIORITY";
+    static final String ASSIGNEE = "ASSIGNEE";
+    static final String NONE = "NONE";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count) VALUES (?, ?, ?, ?) ";
+
+    /** Alias de fila: MySQL 8.0.19+ (VALUES() en ON DUPLICATE KEY UPDATE está obsoleto). */
+    static final String UPSERT_ROW_ALIAS_SQL =
+            INSERT_SQL + "AS new ON DUPLICATE KEY UPDATE task_count = task_count + new.task_count";
+
+    /** H2 en modo MySQL (tests y loadtest), MariaDB y MySQL anterior a 8.0.19 no aceptan el alias. */
+    static final String UPSERT_VALUES_SQL =
+            INSERT_SQL + "ON DUPLICATE KEY UPDATE task_count = task_count + VALUES(task_count)";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final Map<SharedSessionContractImplementor, Map<CounterKey, Long>> pending = new ConcurrentHashMap<>();
+    private String upsertSql = UPSERT_VALUES_SQL;
+
+    public TaskCounterListener(EntityManagerFactory entityManagerFactory, EntityManager entityManager) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+    }
+
+    @PostConstruct
+    void register() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        upsertSql = upsertSqlFor(sessionFactory.getJdbcServices().getDialect());
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Task) {
+            record(event.getSession(), TaskState.of(event.getPersister(), event.getState()), 1);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Task && event.getOldState() != null) {
+            TaskState before = TaskState.of(event.getPersister(), event.getOldState());
+            TaskState after = TaskState.of(event.getPersister(), event.getState());
+            if (!before.equals(after)) {
+                record(event.getSession(), before, -1);
+                record(event.getSession(), after, 1);
+            }
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Task) {
+            record(event.getSession(), TaskState.of(event.getPersister(), event.getDeletedState()), -1);
+        }
+    }
+
+    /**
+     * Registra el borrado de una tarea eliminada con una sentencia masiva
+     * (JPQL/SQL), que no dispara eventos de Hibernate.
+     */
+    public void recordBulkDelete(Task task) {
+        record(entityManager.unwrap(SharedSessionContractImplementor.class), TaskState.of(task), -1);
+    }
+
+    static String upsertSqlFor(Dialect dialect) {
+        return dialect instanceof MySQLDialect && !(dialect instanceof MariaDBDialect)
+                && dialect.getVersion().isSameOrAfter(8, 0, 19)
+                ? UPSERT_ROW_ALIAS_SQL
+                : UPSERT_VALUES_SQL;
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(SharedSessionContractImplementor session, TaskState state, long sign) {
+        if (state.projectId() == null) {
+            return;
+        }
+        Map<CounterKey, Long> deltas = pending.computeIfAbsent(session, s -> {
+            EventSource source = (EventSource) s;
+            source.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::flush);
+            source.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, ses) -> pending.remove(ses));
+            return new HashMap<>();
+        });
+        deltas.merge(new CounterKey(state.projectId(), TOTAL, TOTAL), sign, Long::sum);
+        deltas.merge(new CounterKey(state.projectId(), STATUS, valueOf(state.status())), sign, Long::sum);
+        deltas.merge(new CounterKey(state.projectId(), PRIORITY, valueOf(state.priority())), sign, Long::sum);
+        deltas.merge(new CounterKey(state.projectId(), ASSIGNEE, valueOf(state.assigneeId())), sign, Long::sum);
+    }
+
+    private void flush(SharedSessionContractImplementor session) {
+        Map<CounterKey, Long> deltas = pending.remove(session);
+        if (deltas == null || deltas.values().stream().allMatch(d -> d == 0)) {
+            return;
+        }
+        ((EventSource) session).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(upsertSql)) {
+                for (Map.Entry<CounterKey, Long> entry : deltas.entrySet()) {
+                    if (entry.getValue() == 0) {
+                        continue;
+                    }
+                    CounterKey key = entry.getKey();
+                    ps.setLong(1, key.projectId());
+                    ps.setString(2, key.dimension());
+                    ps.setString(3, key.value());
+                    ps.setLong(4, entry.getValue());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        });
+    }
+
+    private static String valueOf(Object value) {
+        return value != null ? value.toString() : NONE;
+    }
+
+    private record CounterKey(Long projectId, String dimension, String value) {
+    }
+
+    private record TaskState(Long projectId, String status, String priority, Long assigneeId) {
+
+        static TaskState of(EntityPersister persister, Object[] state) {
+            return new TaskState(
+                    idOf((Project) value(persister, state, "project")),
+                    (String) value(persister, state, "status"),
+                    (String) value(persister, state, "priority"),
+                    idOf((User) value(persister, state, "assignee")));
+        }
+
+        static TaskState of(Task task) {
+            return new TaskState(idOf(task.getProject()), task.getStatus(), task.getPriority(), idOf(task.getAssignee()));
+        }
+
+        private static Object value(EntityPersister persister, Object[] state, String property) {
+            return state[persister.getEntityMetamodel().getPropertyIndex(property)];
+        }
+
+        private static Long idOf(Project project) {
+            return project != null ? project.getId() : null;
+        }
+
+        private static Long idOf(User user) {
+            return user != null ? user.getId() : null;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.politask.util;
+
+/**
+ * Marca el hilo actual como importación masiva. Mientras dura, los listeners
+ * de entidades no programan trabajo por fila para después del commit
+ * (documentos del índice de búsqueda, entradas del historial); quien importa
+ * lo hace una sola vez al terminar.
+ *
+ * <pre>
+ * try (BulkImport.Scope ignored = BulkImport.begin()) {
+ *     ... persist + flush ...
+ * }
+ * </pre>
+ *
+ * Las filas deben enviarse (flush) antes de cerrar el ámbito: los eventos de
+ * Hibernate se disparan al hacer flush, no al llamar a persist.
+ */
+public final class BulkImport {
+
+    private static final ThreadLocal<Boolean> ACTIVE = new ThreadLocal<>();
+
+    private BulkImport() {
+    }
+
+    public static Scope begin() {
+        ACTIVE.set(Boolean.TRUE);
+        return ACTIVE::remove;
+    }
+
+    public static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
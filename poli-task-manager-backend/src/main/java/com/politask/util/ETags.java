@@ -0,0 +1,78 @@
+package com.politask.util;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * ETag fuerte derivado de la columna @Version de la entidad, p. ej. {@code "3"}.
+     * Se calcula sin serializar el cuerpo de la respuesta.
+     */
+    public static String of(Long version) {
+        return "\"" + (version != null ? version : 0L) + "\"";
+    }
+
+    /**
+     * Comparación débil para If-None-Match (RFC 9110 §13.1.2): la cabecera
+     * (lista separada por comas, o "*") incluye la versión dada, con o sin W/.
+     */
+    public static boolean matchesWeak(String header, Long version) {
+        return matches(header, version, true);
+    }
+
+    /**
+     * Comparación fuerte para If-Match (RFC 9110 §13.1.1): una ETag débil
+     * (W/...) nunca coincide, aunque lleve la misma versión.
+     */
+    public static boolean matchesStrong(String header, Long version) {
+        return matches(header, version, false);
+    }
+
+    private static boolean matches(String header, Long version, boolean weak) {
+        if (header == null) {
+            return false;
+        }
+        String expected = of(version);
+        for (String tag : header.split(",")) {
+            String candidate = tag.trim();
+            if (candidate.equals("*")) {
+                return true;
+            }
+            if (candidate.startsWith("W/")) {
+                if (!weak) {
+                    continue;
+                }
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Versión fijada por una cabecera If-Match con una sola ETag, o null si la
+     * cabecera falta o es "*". Evita una consulta aparte para comprobar la precondición.
+     * Con comparación fuerte una ETag débil no fija ninguna versión y se rechaza
+     * como las que no emitimos.
+     */
+    public static Long parseVersion(String header) {
+        if (header == null || header.trim().equals("*")) {
+            return null;
+        }
+        String tag = header.trim();
+        if (tag.startsWith("W/")) {
+            throw new IllegalArgumentException("If-Match no admite ETags débiles: " + tag);
+        }
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            throw new IllegalArgumentException("If-Match debe contener una única ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ETag desconocida: " + tag);
+        }
+    }
+}
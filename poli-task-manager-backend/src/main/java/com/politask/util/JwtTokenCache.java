@@ -0,0 +1,112 @@
+package com.politask.util;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache acotado de tokens ya verificados. Cada entrada guarda los claims y el
+ * {@link UserDetails} del usuario, y caduca cuando vence el claim {@code exp}
+ * del token (o antes, si se alcanza {@code jwt.cache.max-ttl}).
+ */
+@Component
+public class JwtTokenCache {
+
+    private final JwtUtil jwtUtil;
+    private final UserDetailsService userDetailsService;
+    private final Cache<String, VerifiedToken> cache;
+    private final long maxTtlNanos;
+    private final Timer verifyTimer;
+
+    public JwtTokenCache(JwtUtil jwtUtil,
+                         UserDetailsService userDetailsService,
+                         MeterRegistry meterRegistry,
+                         @Value("${jwt.cache.max-size:10000}") long maxSize,
+                         @Value("${jwt.cache.max-ttl:PT15M}") Duration maxTtl) {
+        this.jwtUtil = jwtUtil;
+        this.userDetailsService = userDetailsService;
+        this.maxTtlNanos = maxTtl.toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.tokens");
+        // Solo los fallos de cache pagan la verificación de firma y la carga del usuario
+        this.verifyTimer = Timer.builder("jwt.verify")
+                .description("Verificación de firma y carga del usuario en fallos de cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve el token verificado desde el cache o, en caso de fallo, valida
+     * la firma y carga el usuario. Los tokens inválidos nunca se cachean.
+     */
+    public VerifiedToken get(String token) {
+        return cache.get(token, this::verify);
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(token);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private VerifiedToken verify(String token) {
+        return verifyTimer.record(() -> {
+            Claims claims = jwtUtil.parseClaims(token);
+            UserDetails userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+            return new VerifiedToken(claims, userDetails);
+        });
+    }
+
+    private final class TokenExpiry implements Expiry<String, VerifiedToken> {
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long untilExp = Duration.ofMillis(
+                    value.getClaims().getExpiration().getTime() - System.currentTimeMillis()).toNanos();
+            return Math.max(0, Math.min(untilExp, maxTtlNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    public static final class VerifiedToken {
+        private final Claims claims;
+        private final UserDetails userDetails;
+
+        public VerifiedToken(Claims claims, UserDetails userDetails) {
+            this.claims = claims;
+            this.userDetails = userDetails;
+        }
+
+        public Claims getClaims() {
+            return claims;
+        }
+
+        public UserDetails getUserDetails() {
+            return userDetails;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.politask.util;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Turno en base de datos para tareas programadas que se ejecutan en todas las
+ * instancias a la misma hora pero solo deben correr en una. La primera que
+ * marca la fila del trabajo hasta ahora + lease lo ejecuta; el turno no se
+ * libera al terminar, así que una instancia con el reloj algo atrasado tampoco
+ * repite el trabajo. Si la instancia cae, el turno caduca solo.
+ */
+@Component
+public class ScheduledJobLock {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScheduledJobLock(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * @return true si esta instancia obtuvo el turno de {@code jobName} durante {@code lease}
+     */
+    public boolean tryAcquire(String jobName, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(lease));
+        int updated = jdbcTemplate.update(
+                "UPDATE scheduled_job_locks SET locked_until = ? WHERE job_name = ? AND locked_until <= ?",
+                until, jobName, Timestamp.valueOf(now));
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            // Primera ejecución del trabajo: todavía no hay fila
+            return jdbcTemplate.update("INSERT INTO scheduled_job_locks (job_name, locked_until) VALUES (?, ?)",
+                    jobName, until) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+}
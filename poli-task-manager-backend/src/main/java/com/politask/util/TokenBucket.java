@@ -0,0 +1,38 @@
+package com.politask.util;
+
+/**
+ * Token bucket clásico: hasta {@code capacity} peticiones seguidas y después
+ * {@code refillPerSecond} por segundo. Los tokens se reponen de forma perezosa
+ * al consumir, sin hilos de fondo.
+ */
+public final class TokenBucket {
+
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double refillPerSecond) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    public synchronized boolean tryConsume() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * refillPerNano);
+        lastRefill = now;
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /** Segundos (redondeados hacia arriba) hasta que vuelva a haber un token. */
+    public synchronized long secondsUntilNextToken() {
+        double missing = 1 - tokens;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / refillPerNano / 1_000_000_000d);
+    }
+}
@@ -0,0 +1,49 @@
+-- Tablas que no existían antes de Flyway: task_seq (ids de tareas por
+-- secuencia "pooled", bloques de 50) y project_task_counters. Las bases
+-- marcadas como versión 1 no ejecutan V1, así que se crean aquí, y si ya
+-- existen (ddl-auto=update las creó) se conservan.
+CREATE TABLE IF NOT EXISTS task_seq (
+    next_val BIGINT
+);
+
+CREATE TABLE IF NOT EXISTS project_task_counters (
+    project_id BIGINT      NOT NULL,
+    dimension  VARCHAR(16) NOT NULL,
+    dim_value  VARCHAR(255) NOT NULL,
+    task_count BIGINT      NOT NULL,
+    PRIMARY KEY (project_id, dimension, dim_value)
+);
+
+-- dim_value recibe tasks.status y tasks.priority, que son VARCHAR(255): una
+-- tabla creada antes por ddl-auto=update con un ancho menor se ensancha
+ALTER TABLE project_task_counters MODIFY dim_value VARCHAR(255) NOT NULL;
+
+-- Mismo criterio que comment_seq en V3: el siguiente bloque queda por encima
+-- del id máximo (el optimizador pooled usa next_val como tope del bloque)
+INSERT INTO task_seq (next_val)
+SELECT seed.next_val FROM (SELECT COALESCE(MAX(id), 0) + 50 AS next_val FROM tasks) seed
+WHERE NOT EXISTS (SELECT 1 FROM task_seq);
+
+UPDATE task_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 50 FROM tasks));
+
+-- Contadores de las tareas existentes, con las mismas consultas que
+-- ProjectStatsService.reconcile; si la tabla ya tenía filas se dejan como están
+INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count)
+SELECT project_id, 'TOTAL', 'TOTAL', COUNT(*) FROM tasks
+WHERE project_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM project_task_counters WHERE dimension = 'TOTAL')
+GROUP BY project_id;
+
+INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count)
+SELECT project_id, 'STATUS', COALESCE(status, 'NONE'), COUNT(*) FROM tasks
+WHERE project_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM project_task_counters WHERE dimension = 'STATUS')
+GROUP BY project_id, COALESCE(status, 'NONE');
+
+INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count)
+SELECT project_id, 'PRIORITY', COALESCE(priority, 'NONE'), COUNT(*) FROM tasks
+WHERE project_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM project_task_counters WHERE dimension = 'PRIORITY')
+GROUP BY project_id, COALESCE(priority, 'NONE');
+
+INSERT INTO project_task_counters (project_id, dimension, dim_value, task_count)
+SELECT project_id, 'ASSIGNEE', COALESCE(CAST(assignee_id AS CHAR), 'NONE'), COUNT(*) FROM tasks
+WHERE project_id IS NOT NULL AND NOT EXISTS (SELECT 1 FROM project_task_counters WHERE dimension = 'ASSIGNEE')
+GROUP BY project_id, COALESCE(CAST(assignee_id AS CHAR), 'NONE');
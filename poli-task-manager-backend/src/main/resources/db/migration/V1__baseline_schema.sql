@@ -0,0 +1,64 @@
+-- Esquema base: refleja las tablas que hasta ahora generaba
+-- spring.jpa.hibernate.ddl-auto=update. Las bases existentes se marcan como
+-- versión 1 (spring.flyway.baseline-version) y no ejecutan este script.
+
+CREATE TABLE users (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    name          VARCHAR(255),
+    email         VARCHAR(255) NOT NULL,
+    password_hash VARCHAR(255) NOT NULL,
+    created_at    DATETIME(6),
+    updated_at    DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE projects (
+    id          BIGINT       NOT NULL AUTO_INCREMENT,
+    name        VARCHAR(255),
+    description VARCHAR(255),
+    owner_id    BIGINT       NOT NULL,
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_projects_owner FOREIGN KEY (owner_id) REFERENCES users (id)
+);
+
+CREATE TABLE project_users (
+    project_id BIGINT NOT NULL,
+    user_id    BIGINT NOT NULL,
+    role       VARCHAR(255),
+    joined_at  DATETIME(6),
+    PRIMARY KEY (project_id, user_id),
+    CONSTRAINT fk_project_users_project FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT fk_project_users_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Los ids de tareas salen de task_seq (V1_1)
+CREATE TABLE tasks (
+    id          BIGINT NOT NULL,
+    title       VARCHAR(255),
+    description VARCHAR(255),
+    status      VARCHAR(255),
+    priority    VARCHAR(255),
+    due_date    DATETIME(6),
+    created_at  DATETIME(6),
+    updated_at  DATETIME(6),
+    project_id  BIGINT,
+    assignee_id BIGINT,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_tasks_project FOREIGN KEY (project_id) REFERENCES projects (id),
+    CONSTRAINT fk_tasks_assignee FOREIGN KEY (assignee_id) REFERENCES users (id)
+);
+
+CREATE TABLE comments (
+    id         BIGINT NOT NULL AUTO_INCREMENT,
+    task_id    BIGINT,
+    user_id    BIGINT,
+    content    VARCHAR(255),
+    created_at DATETIME(6),
+    updated_at DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_comments_task FOREIGN KEY (task_id) REFERENCES tasks (id),
+    CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
@@ -0,0 +1,23 @@
+-- Índices para las consultas calientes. El orden de columnas sigue las
+-- consultas de TaskRepository/TaskSpecifications (filtro + orden por
+-- updated_at DESC, id DESC), CommentRepository y ProjectUserRepository.
+-- SchemaIndexVerifier comprueba al arrancar que siguen existiendo.
+
+-- Listado de tareas por proyecto y por proyecto + estado (paginación por cursor)
+CREATE INDEX idx_tasks_project_updated ON tasks (project_id, updated_at, id);
+CREATE INDEX idx_tasks_project_status_updated ON tasks (project_id, status, updated_at, id);
+
+-- Listado global y filtros sin proyecto
+CREATE INDEX idx_tasks_updated ON tasks (updated_at, id);
+CREATE INDEX idx_tasks_status ON tasks (status);
+CREATE INDEX idx_tasks_assignee_status ON tasks (assignee_id, status);
+CREATE INDEX idx_tasks_due_date ON tasks (due_date);
+
+-- Recuento de tareas vencidas por proyecto
+CREATE INDEX idx_tasks_project_due ON tasks (project_id, due_date);
+
+-- Comentarios de una tarea en orden cronológico
+CREATE INDEX idx_comments_task_created ON comments (task_id, created_at, id);
+
+-- Proyectos en los que participa un usuario (la PK cubre la búsqueda por proyecto)
+CREATE INDEX idx_project_users_user ON project_users (user_id);
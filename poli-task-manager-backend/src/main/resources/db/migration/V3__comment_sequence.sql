@@ -0,0 +1,9 @@
+-- Los comentarios pasan de IDENTITY a una secuencia "pooled" (comment_seq, bloques
+-- de 50) para poder insertar en lotes JDBC, p. ej. al importar proyectos.
+-- La columna conserva AUTO_INCREMENT, pero Hibernate ya asigna los ids.
+CREATE TABLE comment_seq (
+    next_val BIGINT
+);
+
+-- Mismo criterio que task_seq en V2: el primer bloque queda por encima del id máximo
+INSERT INTO comment_seq (next_val) SELECT COALESCE(MAX(id), 0) + 50 FROM comments;
@@ -0,0 +1,5 @@
+-- Columnas @Version para concurrencia optimista en tareas, proyectos y comentarios.
+-- Las filas existentes empiezan en 0; Hibernate incrementa el valor en cada UPDATE.
+ALTER TABLE tasks ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE comments ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,20 @@
+-- Historial de cambios de tareas y proyectos: una fila por campo modificado
+-- (o por alta/baja). Lo escribe ActivityLogWriter en lotes fuera de la
+-- transacción de la petición. Sin claves foráneas: el historial se conserva
+-- aunque se borren la tarea, el proyecto o el usuario.
+CREATE TABLE activity_log (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    project_id  BIGINT      NOT NULL,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id   BIGINT      NOT NULL,
+    action      VARCHAR(16) NOT NULL,
+    field       VARCHAR(64),
+    old_value   VARCHAR(255),
+    new_value   VARCHAR(255),
+    actor_id    BIGINT,
+    occurred_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- Actividad de un proyecto de la más reciente a la más antigua (paginación por cursor)
+CREATE INDEX idx_activity_log_project_occurred ON activity_log (project_id, occurred_at, id);
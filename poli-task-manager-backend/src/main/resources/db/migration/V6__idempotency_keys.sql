@@ -0,0 +1,17 @@
+-- Respuestas de las peticiones con cabecera Idempotency-Key (nivel persistente
+-- opcional de IdempotencyStore, politask.idempotency.persistent.enabled). La
+-- clave es el SHA-256 de usuario, método, ruta y clave del cliente; status a
+-- NULL mientras la primera petición se está ejecutando.
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(64)  NOT NULL,
+    request_hash    VARCHAR(64)  NOT NULL,
+    status          INT,
+    content_type    VARCHAR(255),
+    body            MEDIUMBLOB,
+    created_at      DATETIME(6)  NOT NULL,
+    expires_at      DATETIME(6)  NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+-- Purga periódica de las claves caducadas
+CREATE INDEX idx_idempotency_keys_expires ON idempotency_keys (expires_at);
@@ -0,0 +1,8 @@
+-- Turnos de las tareas programadas que solo debe ejecutar una instancia (ver
+-- ScheduledJobLock): la instancia que consigue poner locked_until en el futuro
+-- ejecuta el trabajo; las demás lo omiten hasta que el turno caduca.
+CREATE TABLE scheduled_job_locks (
+    job_name     VARCHAR(64) NOT NULL,
+    locked_until DATETIME(6) NOT NULL,
+    PRIMARY KEY (job_name)
+);
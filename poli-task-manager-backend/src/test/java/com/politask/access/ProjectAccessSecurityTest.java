@@ -0,0 +1,232 @@
+package com.politask.access;
+
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Un usuario autenticado que no es propietario ni miembro del proyecto recibe
+ * 403 en todas las rutas de sus tareas y comentarios, y no ve el proyecto ni
+ * sus tareas en los listados.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectAccessSecurityTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String ownerToken;
+    private String outsiderToken;
+    private User outsider;
+    private Long projectId;
+    private Long taskId;
+    private Long commentId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = saveUser("owner");
+        outsider = saveUser("outsider");
+        ownerToken = jwtUtil.generateToken(owner.getEmail(), owner.getId());
+        outsiderToken = jwtUtil.generateToken(outsider.getEmail(), outsider.getId());
+
+        Project project = new Project();
+        project.setName("Privado");
+        project.setOwner(owner);
+        projectId = projectRepository.save(project).getId();
+
+        Task task = new Task();
+        task.setTitle("Tarea privada");
+        task.setStatus("PENDING");
+        task.setProject(project);
+        taskId = taskRepository.save(task).getId();
+
+        Comment comment = new Comment();
+        comment.setTask(task);
+        comment.setUser(owner);
+        comment.setContent("Comentario privado");
+        commentId = commentRepository.save(comment).getId();
+    }
+
+    @Test
+    void outsiderIsForbiddenOnTaskRoutes() throws Exception {
+        mvc.perform(as(outsiderToken, get("/api/tasks").param("projectId", projectId.toString())))
+                .andExpect(status().isForbidden());
+        mvc.perform(as(outsiderToken, get("/api/tasks/" + taskId)))
+                .andExpect(status().isForbidden());
+        mvc.perform(as(outsiderToken, put("/api/tasks/" + taskId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"x\"}")))
+                .andExpect(status().isForbidden());
+        mvc.perform(as(outsiderToken, patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"status\":\"DONE\"}")))
+                .andExpect(status().isForbidden());
+        mvc.perform(as(outsiderToken, post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"UPDATE_STATUS\",\"taskId\":" + taskId
+                                + ",\"status\":\"DONE\"}]}")))
+                .andExpect(status().isForbidden());
+        mvc.perform(as(outsiderToken, post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"CREATE\",\"title\":\"x\",\"projectId\":"
+                                + projectId + "}]}")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void outsiderIsForbiddenOnCommentRoutes() throws Exception {
+        mvc.perform(as(outsiderToken, get("/api/comments/task/" + taskId)))
+                .andExpect(status().isForbidden());
+        mvc.perform(as(outsiderToken, get("/api/comments/task/" + taskId + "/export")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void listingsOnlyShowOwnProjects() throws Exception {
+        mvc.perform(as(outsiderToken, get("/api/projects")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+        mvc.perform(as(outsiderToken, get("/api/tasks")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+
+        mvc.perform(as(ownerToken, get("/api/projects")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].id").value(projectId));
+        mvc.perform(as(ownerToken, get("/api/tasks")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)));
+    }
+
+    @Test
+    void ownerCanReadTaskAndComments() throws Exception {
+        mvc.perform(as(ownerToken, get("/api/tasks/" + taskId)))
+                .andExpect(status().isOk());
+        mvc.perform(as(ownerToken, get("/api/comments/task/" + taskId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].userName").value("owner"));
+    }
+
+    @Test
+    void createWithForeignIdInsertsNewRow() throws Exception {
+        Project own = new Project();
+        own.setName("Propio");
+        own.setOwner(outsider);
+        Long ownProjectId = projectRepository.save(own).getId();
+        Task ownTask = new Task();
+        ownTask.setTitle("Tarea propia");
+        ownTask.setProject(own);
+        Long ownTaskId = taskRepository.save(ownTask).getId();
+
+        mvc.perform(as(outsiderToken, post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + taskId + ",\"version\":0,\"title\":\"robada\",\"projectId\":"
+                                + ownProjectId + "}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(not(taskId.intValue())))
+                .andExpect(jsonPath("$.title").value("robada"));
+        mvc.perform(as(outsiderToken, post("/api/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":" + commentId + ",\"version\":0,\"content\":\"robado\",\"taskId\":"
+                                + ownTaskId + "}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(not(commentId.intValue())));
+
+        Task original = taskRepository.findById(taskId).orElseThrow();
+        assertEquals("Tarea privada", original.getTitle());
+        assertEquals(projectId, taskRepository.findProjectIdById(taskId).orElseThrow());
+        assertEquals("Comentario privado", commentRepository.findById(commentId).orElseThrow().getContent());
+    }
+
+    @Test
+    void createdCommentIsStoredWithItsAuthor() throws Exception {
+        String body = mvc.perform(as(ownerToken, post("/api/comments")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"taskId\":" + taskId + ",\"content\":\"Nuevo\"}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userName").value("owner"))
+                .andReturn().getResponse().getContentAsString();
+        Long newId = Long.valueOf(body.replaceAll(".*\"id\":(\\d+).*", "$1"));
+
+        Long authorId = jdbcTemplate.queryForObject("SELECT user_id FROM comments WHERE id = ?", Long.class, newId);
+        assertEquals(jwtUtil.extractUserId(ownerToken), authorId);
+    }
+
+    @Test
+    void assigneeMustBeProjectMember() throws Exception {
+        mvc.perform(as(ownerToken, patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"assigneeId\":" + outsider.getId() + "}")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.assigneeId").value("El usuario no es miembro del proyecto"));
+        mvc.perform(as(ownerToken, post("/api/tasks/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"operations\":[{\"type\":\"REASSIGN\",\"taskId\":" + taskId
+                                + ",\"assigneeId\":" + outsider.getId() + "},{\"type\":\"CREATE\",\"title\":\"x\","
+                                + "\"projectId\":" + projectId + ",\"assigneeId\":" + outsider.getId() + "}]}")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].success").value(false))
+                .andExpect(jsonPath("$[1].success").value(false));
+
+        mvc.perform(as(ownerToken, patch("/api/tasks/" + taskId)
+                        .contentType("application/merge-patch+json")
+                        .content("{\"assigneeId\":" + jwtUtil.extractUserId(ownerToken) + "}")))
+                .andExpect(status().isOk());
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + UUID.randomUUID() + "@politask.test");
+        user.setPasswordHash("x");
+        return userRepository.save(user);
+    }
+
+    private static MockHttpServletRequestBuilder as(String token, MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
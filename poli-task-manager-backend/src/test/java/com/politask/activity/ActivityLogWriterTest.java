@@ -0,0 +1,42 @@
+package com.politask.activity;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Con la cola llena, las entradas de una transacción comparten un único plazo
+ * de offer-timeout en lugar de esperar una vez cada una.
+ */
+class ActivityLogWriterTest {
+
+    @Test
+    void fullQueueWaitsOncePerBatch() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // Sin start(): el hilo escritor no vacía la cola
+        ActivityLogWriter writer = new ActivityLogWriter(null, registry, 1, 500, Duration.ofSeconds(1),
+                Duration.ofMillis(100), Duration.ofSeconds(1));
+
+        List<ActivityEntry> entries = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            entries.add(new ActivityEntry(1L, ActivityEntry.TASK, i, ActivityEntry.UPDATED, "status",
+                    "PENDING", "DONE", null, LocalDateTime.now()));
+        }
+
+        long start = System.nanoTime();
+        int rejected = writer.offerAll(entries);
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(19, rejected);
+        assertEquals(1, writer.pending());
+        assertEquals(19.0, registry.get("activity.log.entries").tag("outcome", "dropped").counter().count());
+        assertTrue(elapsed.compareTo(Duration.ofMillis(1000)) < 0, "waited " + elapsed);
+    }
+}
@@ -0,0 +1,126 @@
+package com.politask.controller;
+
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.util.ETags;
+import com.politask.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET/PUT/PATCH condicionales de /api/tasks/{id}: If-Match compara de forma
+ * fuerte, una tarea inexistente da 404 (o 412 si hay If-Match) y PUT reemplaza
+ * la representación completa.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskConditionalRequestTest {
+
+    private static final long MISSING_ID = Long.MAX_VALUE;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    private String token;
+    private Long taskId;
+    private String etag;
+
+    @BeforeEach
+    void setUp() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner-" + UUID.randomUUID() + "@politask.test");
+        owner.setPasswordHash("x");
+        userRepository.save(owner);
+        token = jwtUtil.generateToken(owner.getEmail(), owner.getId());
+
+        Project project = new Project();
+        project.setName("Condicional");
+        project.setOwner(owner);
+        projectRepository.save(project);
+
+        Task task = new Task();
+        task.setTitle("Original");
+        task.setDescription("Descripción");
+        task.setStatus("PENDING");
+        task.setProject(project);
+        task = taskRepository.save(task);
+        taskId = task.getId();
+        etag = ETags.of(task.getVersion());
+    }
+
+    @Test
+    void missingTaskIsNotFoundOrPreconditionFailed() throws Exception {
+        mvc.perform(as(get("/api/tasks/" + MISSING_ID)))
+                .andExpect(status().isNotFound());
+        mvc.perform(as(put("/api/tasks/" + MISSING_ID).header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"x\"}")))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(as(patch("/api/tasks/" + MISSING_ID).header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType("application/merge-patch+json").content("{\"status\":\"DONE\"}")))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void weakEtagsOnlyMatchIfNoneMatch() throws Exception {
+        mvc.perform(as(get("/api/tasks/" + taskId)).header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(as(put("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, "W/" + etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"x\"}")))
+                .andExpect(status().isPreconditionFailed());
+        mvc.perform(as(patch("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, "W/" + etag)
+                        .contentType("application/merge-patch+json").content("{\"status\":\"DONE\"}")))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals("PENDING", taskRepository.findById(taskId).orElseThrow().getStatus());
+    }
+
+    @Test
+    void putReplacesTheWholeRepresentation() throws Exception {
+        mvc.perform(as(put("/api/tasks/" + taskId).header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"Nuevo\",\"status\":\"DONE\"}")))
+                .andExpect(status().isOk());
+
+        Task saved = taskRepository.findById(taskId).orElseThrow();
+        assertEquals("Nuevo", saved.getTitle());
+        assertEquals("DONE", saved.getStatus());
+        assertNull(saved.getDescription());
+
+        mvc.perform(as(put("/api/tasks/" + taskId)
+                        .contentType(MediaType.APPLICATION_JSON).content("{\"description\":\"sin título\"}")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+}
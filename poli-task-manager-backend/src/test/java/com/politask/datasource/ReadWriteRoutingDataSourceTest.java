@@ -0,0 +1,76 @@
+package com.politask.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Una lectura enrutada a una réplica deja la sesión de Hibernate en
+ * CacheMode.GET para no llenar el cache de segundo nivel con datos que pueden
+ * ir por detrás del primario; las del primario no la tocan.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final EntityManagerFactory factory = mock(EntityManagerFactory.class);
+    private final Session session = mock(Session.class);
+    private HikariDataSource replica;
+    private DataSource primary;
+    private ReadWriteRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replica = new HikariDataSource();
+        replica.setJdbcUrl("jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1");
+        replica.setMaximumPoolSize(1);
+        primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(mock(Connection.class));
+        routing = new ReadWriteRoutingDataSource(primary, Map.of("replica-1", replica),
+                new ReadYourWrites(Duration.ZERO, 10), Duration.ZERO, new SimpleMeterRegistry());
+
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        TransactionSynchronizationManager.bindResource(factory, new EntityManagerHolder(entityManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResource(factory);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        routing.close();
+    }
+
+    @Test
+    void replicaReadsDoNotFillTheSecondLevelCache() throws Exception {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        try (Connection ignored = routing.getConnection()) {
+            verify(session).setCacheMode(CacheMode.GET);
+        }
+    }
+
+    @Test
+    void primaryReadsKeepTheCacheMode() throws Exception {
+        try (Connection ignored = routing.getConnection()) {
+            verify(primary).getConnection();
+            verify(session, never()).setCacheMode(any());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.politask.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Los eventos de proyectos sin suscriptores no crean canal ni buffer, y la
+ * purga de canales inactivos no quita los que tienen suscriptores.
+ */
+class ProjectEventBusTest {
+
+    @Test
+    void channelsExistOnlyForSubscribedProjects() {
+        ProjectEventBus bus = new ProjectEventBus(1, 16, 16, Duration.ofMinutes(1), Duration.ZERO, false);
+        try {
+            for (long projectId = 1; projectId <= 100; projectId++) {
+                bus.publish(projectId, ProjectEvent.TASK_UPDATED, Map.of("taskId", projectId));
+            }
+            assertEquals(0, bus.channelCount());
+
+            bus.subscribe(7L, null);
+            bus.publish(7L, ProjectEvent.TASK_UPDATED, Map.of("taskId", 1L));
+            bus.evictIdleChannels();
+            assertEquals(1, bus.channelCount());
+            assertEquals(1, bus.subscriberCount());
+        } finally {
+            bus.shutdown();
+        }
+    }
+}
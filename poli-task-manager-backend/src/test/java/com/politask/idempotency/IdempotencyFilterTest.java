@@ -0,0 +1,145 @@
+package com.politask.idempotency;
+
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Idempotency-Key sobre la cadena real: un reintento de una creación 2xx
+ * recibe la respuesta guardada sin crear otra fila, los errores no se guardan
+ * y un cuerpo demasiado grande se rechaza antes de ejecutarse.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private String token;
+    private Long projectId;
+    private Long taskId;
+    private Long foreignTaskId;
+
+    @BeforeEach
+    void setUp() {
+        User owner = saveUser("owner");
+        User other = saveUser("other");
+        token = jwtUtil.generateToken(owner.getEmail(), owner.getId());
+        projectId = saveProject(owner).getId();
+        taskId = saveTask(projectRepository.getReferenceById(projectId)).getId();
+        foreignTaskId = saveTask(saveProject(other)).getId();
+    }
+
+    @Test
+    void retriedCreationIsReplayed() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = "{\"taskId\":" + taskId + ",\"content\":\"hola\"}";
+
+        mvc.perform(comment(key, body))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        mvc.perform(comment(key, body))
+                .andExpect(status().isOk())
+                .andExpect(header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+        assertEquals(1, commentRepository.findAll().stream()
+                .filter(c -> c.getTask().getId().equals(taskId)).count());
+
+        mvc.perform(comment(key, "{\"taskId\":" + taskId + ",\"content\":\"otro\"}"))
+                .andExpect(status().isUnprocessableEntity());
+
+        mvc.perform(as(post("/api/tasks")).header(IdempotencyFilter.HEADER, UUID.randomUUID().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"projectId\":" + projectId + ",\"title\":\"Nueva\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title").value("Nueva"));
+    }
+
+    @Test
+    void errorsAreNotStored() throws Exception {
+        String key = UUID.randomUUID().toString();
+        String body = "{\"taskId\":" + foreignTaskId + ",\"content\":\"hola\"}";
+
+        mvc.perform(comment(key, body))
+                .andExpect(status().isForbidden());
+        mvc.perform(comment(key, body))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void oversizedBodyIsRejected() throws Exception {
+        String body = "{\"taskId\":" + taskId + ",\"content\":\"" + "x".repeat(8 * 1024) + "\"}";
+
+        mvc.perform(comment(UUID.randomUUID().toString(), body))
+                .andExpect(status().isPayloadTooLarge());
+        assertEquals(0, commentRepository.findAll().stream()
+                .filter(c -> c.getTask().getId().equals(taskId)).count());
+    }
+
+    private MockHttpServletRequestBuilder comment(String key, String body) {
+        return as(post("/api/comments"))
+                .header(IdempotencyFilter.HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body);
+    }
+
+    private MockHttpServletRequestBuilder as(MockHttpServletRequestBuilder request) {
+        return request.header("Authorization", "Bearer " + token);
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + UUID.randomUUID() + "@politask.test");
+        user.setPasswordHash("x");
+        return userRepository.save(user);
+    }
+
+    private Project saveProject(User owner) {
+        Project project = new Project();
+        project.setName("Idempotencia");
+        project.setOwner(owner);
+        return projectRepository.save(project);
+    }
+
+    private Task saveTask(Project project) {
+        Task task = new Task();
+        task.setTitle("t");
+        task.setProject(project);
+        return taskRepository.save(task);
+    }
+}
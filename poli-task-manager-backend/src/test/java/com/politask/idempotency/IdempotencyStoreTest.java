@@ -0,0 +1,54 @@
+package com.politask.idempotency;
+
+import com.politask.idempotency.IdempotencyStore.Claim;
+import com.politask.idempotency.IdempotencyStore.Outcome;
+import com.politask.idempotency.IdempotencyStore.StoredResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Mientras la primera petición sigue en curso su reserva en la tabla se
+ * renueva, y deja de renovarse al guardar la respuesta.
+ */
+class IdempotencyStoreTest {
+
+    private static final Duration LEASE = Duration.ofMillis(100);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void slowRequestKeepsItsLease() throws Exception {
+        IdempotencyRecords records = mock(IdempotencyRecords.class);
+        when(records.claim(anyString(), anyString(), any())).thenReturn(Claim.of(Outcome.EXECUTE));
+        ObjectProvider<IdempotencyRecords> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(records);
+        IdempotencyStore store = new IdempotencyStore(provider, DataSize.ofMegabytes(1), Duration.ofHours(1), LEASE);
+        try {
+            Claim claim = store.begin("key", "hash");
+            assertEquals(Outcome.EXECUTE, claim.outcome());
+
+            Thread.sleep(LEASE.toMillis() * 4);
+            verify(records, atLeast(2)).renew("key", LEASE);
+
+            store.complete(claim, new StoredResponse(201, null, new byte[0]));
+            clearInvocations(records);
+            Thread.sleep(LEASE.toMillis() * 2);
+            verify(records, never()).renew(eq("key"), any());
+        } finally {
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.politask.search;
+
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.util.JwtUtil;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * POST /api/search/reindex: solo administradores, y una sola reconstrucción a la vez.
+ * La reconstrucción recorre las tablas por id, cada página tras la anterior.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SearchReindexTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Test
+    void onlyAdminsCanReindex() throws Exception {
+        String userToken = tokenFor(UUID.randomUUID() + "@politask.test");
+        mvc.perform(post("/api/search/reindex").header("Authorization", "Bearer " + userToken))
+                .andExpect(status().isForbidden());
+
+        String adminToken = tokenFor("admin@politask.test");
+        mvc.perform(post("/api/search/reindex").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void concurrentRebuildIsRejected() {
+        SearchIndex searchIndex = mock(SearchIndex.class);
+        CompletableFuture<Object> pending = new CompletableFuture<>();
+        when(searchIndex.rebuild(any())).thenAnswer(invocation -> pending);
+        SearchIndexRebuilder rebuilder = new SearchIndexRebuilder(searchIndex, null, null, null, null,
+                mock(PlatformTransactionManager.class));
+
+        rebuilder.rebuild();
+        assertThrows(IllegalStateException.class, rebuilder::rebuild);
+
+        pending.complete(null);
+        rebuilder.rebuild();
+        verify(searchIndex, times(2)).rebuild(any());
+    }
+
+    @Test
+    void rebuildPagesByLastId() {
+        SearchIndex searchIndex = mock(SearchIndex.class);
+        when(searchIndex.rebuild(any())).thenAnswer(invocation -> {
+            invocation.<SearchIndex.IndexLoader>getArgument(0).load(doc -> { });
+            return CompletableFuture.completedFuture(null);
+        });
+        ProjectRepository projectRepository = mock(ProjectRepository.class);
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        CommentRepository commentRepository = mock(CommentRepository.class);
+        List<Task> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            firstPage.add(task(id));
+        }
+        when(taskRepository.findPageAfter(0L, Limit.of(500))).thenReturn(firstPage);
+        when(taskRepository.findPageAfter(500L, Limit.of(500))).thenReturn(List.of(task(501L)));
+
+        new SearchIndexRebuilder(searchIndex, projectRepository, taskRepository, commentRepository,
+                mock(EntityManager.class), mock(PlatformTransactionManager.class)).rebuild();
+
+        verify(taskRepository).findPageAfter(0L, Limit.of(500));
+        verify(taskRepository).findPageAfter(500L, Limit.of(500));
+        verify(taskRepository, times(2)).findPageAfter(anyLong(), any());
+        verify(searchIndex, times(501)).toDocument(any(Task.class));
+    }
+
+    private static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        return task;
+    }
+
+    private String tokenFor(String email) {
+        User user = userRepository.findByEmail(email).orElseGet(() -> {
+            User created = new User();
+            created.setName(email);
+            created.setEmail(email);
+            created.setPasswordHash("x");
+            return userRepository.save(created);
+        });
+        return jwtUtil.generateToken(user.getEmail(), user.getId());
+    }
+}
@@ -0,0 +1,143 @@
+package com.politask.service;
+
+import com.politask.entity.Comment;
+import com.politask.entity.Project;
+import com.politask.entity.ProjectUser;
+import com.politask.entity.ProjectUserId;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.CommentRepository;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.ProjectUserRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import com.politask.util.JwtUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * La importación no se fía de los emails del archivo (solo colaboradores de
+ * quien importa) y rechaza archivos por encima de los límites.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectImportTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private ProjectUserRepository projectUserRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private CommentRepository commentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User importer;
+    private User colleague;
+    private User stranger;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        importer = saveUser("importer");
+        colleague = saveUser("colleague");
+        stranger = saveUser("stranger");
+        token = jwtUtil.generateToken(importer.getEmail(), importer.getId());
+
+        Project existing = new Project();
+        existing.setName("Existente");
+        existing.setOwner(importer);
+        projectRepository.save(existing);
+        ProjectUser member = new ProjectUser();
+        member.setId(new ProjectUserId(existing.getId(), colleague.getId()));
+        member.setProject(existing);
+        member.setUser(colleague);
+        member.setRole("MEMBER");
+        projectUserRepository.save(member);
+    }
+
+    @Test
+    void onlyKnownCollaboratorsAreImported() throws Exception {
+        String archive = String.join("\n",
+                "{\"type\":\"project\",\"id\":1,\"name\":\"Importado\"}",
+                "{\"type\":\"member\",\"email\":\"" + colleague.getEmail() + "\",\"role\":\"MEMBER\"}",
+                "{\"type\":\"member\",\"email\":\"" + stranger.getEmail() + "\",\"role\":\"ADMIN\"}",
+                "{\"type\":\"task\",\"id\":7,\"title\":\"A\",\"status\":\"PENDING\",\"assigneeEmail\":\""
+                        + stranger.getEmail() + "\"}",
+                "{\"type\":\"comment\",\"id\":3,\"taskId\":7,\"userEmail\":\"" + stranger.getEmail()
+                        + "\",\"content\":\"hola\"}");
+
+        String body = mvc.perform(post("/api/projects/import")
+                        .header("Authorization", "Bearer " + token)
+                        .content(archive))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.members").value(1))
+                .andExpect(jsonPath("$.skippedMembers").value(1))
+                .andExpect(jsonPath("$.tasks").value(1))
+                .andExpect(jsonPath("$.comments").value(1))
+                .andReturn().getResponse().getContentAsString();
+        Long projectId = Long.valueOf(body.replaceAll(".*\"projectId\":(\\d+).*", "$1"));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            List<ProjectUser> members = projectUserRepository.findByProjectId(projectId);
+            assertEquals(1, members.size());
+            assertEquals(colleague.getId(), members.get(0).getUser().getId());
+
+            Task task = taskRepository.findAll().stream()
+                    .filter(t -> t.getProject().getId().equals(projectId)).findFirst().orElseThrow();
+            assertNull(task.getAssignee());
+
+            List<Comment> comments = commentRepository.findAll().stream()
+                    .filter(c -> c.getTask().getId().equals(task.getId())).toList();
+            assertEquals(1, comments.size());
+            assertEquals(importer.getId(), comments.get(0).getUser().getId());
+        });
+    }
+
+    @Test
+    void tooManyRowsIsRejectedAndRolledBack() throws Exception {
+        StringBuilder archive = new StringBuilder("{\"type\":\"project\",\"name\":\"Enorme\"}\n");
+        for (int i = 0; i < 60; i++) {
+            archive.append("{\"type\":\"task\",\"id\":").append(i).append(",\"title\":\"t\"}\n");
+        }
+
+        mvc.perform(post("/api/projects/import")
+                        .header("Authorization", "Bearer " + token)
+                        .content(archive.toString()))
+                .andExpect(status().isPayloadTooLarge());
+        assertFalse(projectRepository.findAll().stream().anyMatch(p -> "Enorme".equals(p.getName())));
+    }
+
+    private User saveUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + "-" + UUID.randomUUID() + "@politask.test");
+        user.setPasswordHash("x");
+        return userRepository.save(user);
+    }
+}
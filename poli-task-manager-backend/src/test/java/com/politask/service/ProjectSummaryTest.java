@@ -0,0 +1,80 @@
+package com.politask.service;
+
+import com.politask.dto.CursorPage;
+import com.politask.dto.ProjectSummary;
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Listado de proyectos paginado por cursor y recuento de tareas abiertas con
+ * los estados terminales de {@link Task#CLOSED_STATUSES}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectSummaryTest {
+
+    @Autowired
+    private ProjectService projectService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Test
+    void pagesFollowTheCursorAndCountOnlyOpenTasks() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner-" + UUID.randomUUID() + "@politask.test");
+        owner.setPasswordHash("x");
+        userRepository.save(owner);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Project project = new Project();
+            project.setName("P" + i);
+            project.setOwner(owner);
+            ids.add(projectRepository.save(project).getId());
+        }
+        Project first = projectRepository.findById(ids.get(0)).orElseThrow();
+        for (String status : new String[]{"PENDING", null, "DONE", "CLOSED", "REJECTED"}) {
+            Task task = new Task();
+            task.setTitle("t");
+            task.setStatus(status);
+            task.setProject(first);
+            taskRepository.save(task);
+        }
+
+        CursorPage<ProjectSummary> page = projectService.getProjectSummaries(ids, null, 2);
+        assertEquals(2, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(5, page.getItems().get(0).getTaskCount());
+        assertEquals(2, page.getItems().get(0).getOpenTaskCount());
+
+        CursorPage<ProjectSummary> next = projectService.getProjectSummaries(ids, page.getNextCursor(), 2);
+        assertEquals(List.of(ids.get(2)), next.getItems().stream().map(ProjectSummary::getId).toList());
+        assertNull(next.getNextCursor());
+
+        assertThrows(IllegalArgumentException.class, () -> projectService.getProjectSummaries(ids, "%%", 2));
+    }
+}
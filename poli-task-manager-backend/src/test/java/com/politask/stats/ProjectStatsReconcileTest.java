@@ -0,0 +1,94 @@
+package com.politask.stats;
+
+import com.politask.entity.Project;
+import com.politask.entity.Task;
+import com.politask.entity.User;
+import com.politask.repository.ProjectRepository;
+import com.politask.repository.TaskRepository;
+import com.politask.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * La conciliación programada recalcula los contadores y, como tiene turno en
+ * base de datos, una segunda ejecución dentro del turno (otra instancia con el
+ * mismo cron) no vuelve a recalcular. Los contadores admiten estados y
+ * prioridades tan largos como las columnas de tasks.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProjectStatsReconcileTest {
+
+    @Autowired
+    private ProjectStatsService statsService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private TaskRepository taskRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void scheduledReconcileRunsOncePerLease() {
+        Project project = saveProject();
+        Long projectId = project.getId();
+        for (int i = 0; i < 2; i++) {
+            Task task = new Task();
+            task.setTitle("t" + i);
+            task.setStatus("PENDING");
+            task.setProject(project);
+            taskRepository.save(task);
+        }
+
+        corruptCounters(projectId);
+        statsService.reconcileAll();
+        assertEquals(2, statsService.getStats(projectId).getTotalTasks());
+
+        corruptCounters(projectId);
+        statsService.reconcileAll();
+        assertEquals(99, statsService.getStats(projectId).getTotalTasks());
+    }
+
+    @Test
+    void longStatusAndPriorityAreCounted() {
+        Project project = saveProject();
+        String status = "S".repeat(255);
+        Task task = new Task();
+        task.setTitle("larga");
+        task.setStatus(status);
+        task.setPriority("P".repeat(200));
+        task.setProject(project);
+        taskRepository.save(task);
+
+        assertEquals(1L, statsService.getStats(project.getId()).getByStatus().get(status));
+        statsService.reconcile(project.getId());
+        assertEquals(1L, statsService.getStats(project.getId()).getByStatus().get(status));
+    }
+
+    private Project saveProject() {
+        User owner = new User();
+        owner.setName("owner");
+        owner.setEmail("owner-" + UUID.randomUUID() + "@politask.test");
+        owner.setPasswordHash("x");
+        userRepository.save(owner);
+        Project project = new Project();
+        project.setName("Contadores");
+        project.setOwner(owner);
+        return projectRepository.save(project);
+    }
+
+    private void corruptCounters(Long projectId) {
+        jdbcTemplate.update("UPDATE project_task_counters SET task_count = 99 WHERE project_id = ?", projectId);
+    }
+}
@@ -0,0 +1,27 @@
+package com.politask.stats;
+
+import org.hibernate.dialect.DatabaseVersion;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.MariaDBDialect;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * El UPSERT usa el alias de fila solo donde la base de datos lo acepta; H2 en
+ * modo MySQL (tests y loadtest) sigue con VALUES().
+ */
+class TaskCounterListenerTest {
+
+    @Test
+    void rowAliasOnlyOnMySql8019AndLater() {
+        assertEquals(TaskCounterListener.UPSERT_ROW_ALIAS_SQL,
+                TaskCounterListener.upsertSqlFor(new MySQLDialect(DatabaseVersion.make(8, 0, 19))));
+        assertEquals(TaskCounterListener.UPSERT_VALUES_SQL,
+                TaskCounterListener.upsertSqlFor(new MySQLDialect(DatabaseVersion.make(8, 0, 18))));
+        assertEquals(TaskCounterListener.UPSERT_VALUES_SQL,
+                TaskCounterListener.upsertSqlFor(new MariaDBDialect(DatabaseVersion.make(11, 2))));
+        assertEquals(TaskCounterListener.UPSERT_VALUES_SQL, TaskCounterListener.upsertSqlFor(new H2Dialect()));
+    }
+}
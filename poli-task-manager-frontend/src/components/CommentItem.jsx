@@ -9,15 +9,18 @@ import { UserCircle2 } from 'lucide-react'; // Icono para avatar de usuario
  * @param {object} props.comment - El objeto del comentario.
  */
 const CommentItem = ({ comment }) => {
-  const [commentUser, setCommentUser] = useState(null);
+  const [commentUser, setCommentUser] = useState(
+    comment.userName ? { id: comment.userId, name: comment.userName } : null
+  );
 
+  // Las páginas del hilo ya traen el autor; solo se consulta si falta (p. ej. un comentario recién creado)
   useEffect(() => {
-    if (comment.user_id) {
+    if (!comment.userName && comment.user_id) {
       getUserById(comment.user_id)
         .then(setCommentUser)
         .catch(err => console.error("Error fetching comment user:", err));
     }
-  }, [comment.user_id]);
+  }, [comment.userName, comment.user_id]);
 
   const formatTimestamp = (isoString) => {
     if (!isoString) return '';
@@ -38,7 +41,7 @@ const CommentItem = ({ comment }) => {
               {commentUser ? commentUser.name : 'Usuario Anónimo'}
             </p>
             <p className="text-xs text-gray-500 dark:text-gray-400">
-              {formatTimestamp(comment.created_at)}
+              {formatTimestamp(comment.createdAt || comment.created_at)}
             </p>
           </div>
           <p className="mt-1 text-sm text-gray-700 dark:text-gray-300 whitespace-pre-wrap">
@@ -3,51 +3,45 @@ import { useLocation, useParams } from 'react-router-dom';
 import Header from './Header';
 import Sidebar from './Sidebar';
 import Breadcrumbs from './Breadcrumbs';
-import { getProjects, getAllTasks } from '../services/api';
+import { getProjectById, getTaskById } from '../services/api';
 import { Home, Folder, ListTodo, Search, LockKeyholeIcon as LockIcon, LogOut } from 'lucide-react';
 
 const Layout = ({ children }) => {
   const location = useLocation();
   const params = useParams();
   const [breadcrumbItems, setBreadcrumbItems] = useState([]);
-  const [projects, setProjects] = useState([]);
-  const [tasks, setTasks] = useState([]);
+  const [project, setProject] = useState(null);
+  const [task, setTask] = useState(null);
   const [loadingData, setLoadingData] = useState(true);
 
+  // Solo el proyecto y la tarea de la ruta actual, no los listados completos
   useEffect(() => {
+    let cancelled = false;
     const fetchData = async () => {
       try {
         setLoadingData(true);
-        const [fetchedProjects, fetchedTasks] = await Promise.all([
-          getProjects(),
-          getAllTasks()
+        const [fetchedProject, fetchedTask] = await Promise.all([
+          params.projectId ? getProjectById(params.projectId) : null,
+          params.taskId ? getTaskById(params.taskId) : null
         ]);
-
-        // Validamos que sean arrays antes de asignar
-        if (Array.isArray(fetchedProjects)) {
-          setProjects(fetchedProjects);
-        } else {
-          console.warn("getProjects() devolvió un tipo inesperado:", fetchedProjects);
-          setProjects([]);
-        }
-
-        if (Array.isArray(fetchedTasks)) {
-          setTasks(fetchedTasks);
-        } else {
-          console.warn("getAllTasks() devolvió un tipo inesperado:", fetchedTasks);
-          setTasks([]);
+        if (!cancelled) {
+          setProject(fetchedProject);
+          setTask(fetchedTask);
         }
       } catch (error) {
         console.error("Error fetching data for breadcrumbs:", error);
-        setProjects([]); // fallback seguro
-        setTasks([]);
+        if (!cancelled) {
+          setProject(null); // fallback seguro
+          setTask(null);
+        }
       } finally {
-        setLoadingData(false);
+        if (!cancelled) setLoadingData(false);
       }
     };
 
     fetchData();
-  }, []);
+    return () => { cancelled = true; };
+  }, [params.projectId, params.taskId]);
 
   useEffect(() => {
     const pathParts = location.pathname.split('/').filter(part => part);
@@ -61,7 +55,6 @@ const Layout = ({ children }) => {
       items.push({ label: 'Mis Tareas', href: '/tasks', icon: ListTodo });
     } else if (pathParts[0] === 'project' && pathParts.length === 2 && params.projectId) {
       items.push({ label: 'Proyectos', href: '/projects', icon: Folder });
-      const project = projects.find(p => String(p.id) === params.projectId);
       items.push({
         label: project ? project.name : (loadingData ? 'Cargando...' : 'Proyecto no encontrado'),
         href: `/project/${params.projectId}`,
@@ -69,14 +62,12 @@ const Layout = ({ children }) => {
       });
     } else if (pathParts[0] === 'project' && pathParts.length === 4 && pathParts[2] === 'task' && params.projectId && params.taskId) {
       items.push({ label: 'Proyectos', href: '/projects', icon: Folder });
-      const project = projects.find(p => String(p.id) === params.projectId);
       items.push({
         label: project ? project.name : (loadingData ? 'Cargando...' : 'Proyecto no encontrado'),
         href: `/project/${params.projectId}`,
         icon: Folder
       });
 
-      const task = tasks.find(t => String(t.id) === params.taskId);
       items.push({
         label: task ? task.title : (loadingData ? 'Cargando...' : 'Tarea no encontrada'),
         href: `/project/${params.projectId}/task/${params.taskId}`,
@@ -92,7 +83,7 @@ const Layout = ({ children }) => {
     }
 
     setBreadcrumbItems(items);
-  }, [location.pathname, location.search, params, projects, tasks, loadingData]);
+  }, [location.pathname, location.search, params, project, task, loadingData]);
 
   return (
     <div className="flex h-screen bg-background">
@@ -3,13 +3,15 @@ import React from 'react';
 import { MessageSquare } from 'lucide-react';
 import CommentItem from '../CommentItem';
 import CreateCommentForm from '../CreateCommentForm';
+import { Button } from '@/components/ui/button';
 
-const TaskComments = ({ taskId, comments, onCommentCreated }) => {
+// El hilo llega por páginas: onLoadMore pide la siguiente mientras hasMore
+const TaskComments = ({ taskId, comments, hasMore, isLoadingMore, onLoadMore, onCommentCreated }) => {
   return (
     <div className="mt-8 pt-6 border-t border-border">
       <h2 className="text-xl font-semibold text-foreground mb-4 flex items-center">
         <MessageSquare size={22} className="mr-2 text-primary" />
-        Comentarios ({comments.length})
+        Comentarios ({comments.length}{hasMore ? '+' : ''})
       </h2>
       {comments.length === 0 ? (
         <p className="text-muted-foreground">No hay comentarios aún. ¡Sé el primero!</p>
@@ -18,6 +20,13 @@ const TaskComments = ({ taskId, comments, onCommentCreated }) => {
           {comments.map(comment => (
             <CommentItem key={comment.id} comment={comment} />
           ))}
+          {hasMore && (
+            <div className="flex justify-center pt-2">
+              <Button variant="outline" size="sm" onClick={onLoadMore} disabled={isLoadingMore}>
+                {isLoadingMore ? 'Cargando...' : 'Cargar más comentarios'}
+              </Button>
+            </div>
+          )}
         </div>
       )}
       <CreateCommentForm taskId={taskId} onCommentCreated={onCommentCreated} />
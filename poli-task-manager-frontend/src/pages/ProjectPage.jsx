@@ -1,7 +1,7 @@
-import React, { useEffect, useState } from 'react';
+import React, { useCallback, useEffect, useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import Layout from '../components/Layout';
-import { getProjectById, getTasksByProjectId, getUsers } from '../services/api';
+import { getProjectById, getProjectTasksPage, getUsers, subscribeToProjectEvents } from '../services/api';
 import { 
   Clock, ListTodo as ListTodoIcon, Ban, FileSearch2, CheckCircle, XCircle, Archive,
   Filter, Folder // Keep Folder for breadcrumbs consistency if needed, else use specific task icons
@@ -12,15 +12,33 @@ import ProjectHeader from '../components/project/ProjectHeader';
 import ProjectActions from '../components/project/ProjectActions';
 import TaskList from '../components/project/TaskList'; // For list view mode
 import GroupedTaskView from '../components/project/GroupedTaskView'; // For grouped view mode
+import { Button } from '@/components/ui/button';
+
+const withDefaults = (task) => ({ ...task, status: task.status || "PENDING" });
+
+// Aplica un evento task.* (SSE) a la lista cargada; las tareas nuevas van al principio
+const applyTaskEvent = (tasks, type, payload) => {
+  if (type === 'task.deleted') return tasks.filter(t => t.id !== payload.taskId);
+  const { taskId, ...fields } = payload;
+  if (tasks.some(t => t.id === taskId)) {
+    return tasks.map(t => (t.id === taskId ? withDefaults({ ...t, ...fields }) : t));
+  }
+  return type === 'task.created' ? [withDefaults({ id: taskId, ...fields }), ...tasks] : tasks;
+};
 
 /**
  * Página para mostrar los detalles de un proyecto específico, incluyendo sus tareas.
+ * Las tareas se cargan por páginas ("Cargar más" sigue el cursor) y después se
+ * mantienen al día con los eventos en vivo del proyecto; ante un "resync"
+ * (eventos perdidos) se vuelve a cargar la primera página.
  */
 const ProjectPage = () => {
   const { projectId } = useParams();
   const navigate = useNavigate();
   const [project, setProject] = useState(null);
   const [tasks, setTasks] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [users, setUsers] = useState([]); // This is allUsers for TaskRow
   const [isLoading, setIsLoading] = useState(true);
   const [isLoadingUsers, setIsLoadingUsers] = useState(true);
@@ -56,6 +74,27 @@ const ProjectPage = () => {
     { value: "baja", label: "Baja", Icon: Filter, colorClass: "text-green-500" },
   ];
 
+  const loadTasks = useCallback(async () => {
+    const page = await getProjectTasksPage(projectId);
+    setTasks((page.items || []).map(withDefaults));
+    setNextCursor(page.nextCursor);
+  }, [projectId]);
+
+  // Siguiente página bajo demanda; un evento puede haber traído ya alguna tarea
+  const loadMoreTasks = async () => {
+    setIsLoadingMore(true);
+    try {
+      const page = await getProjectTasksPage(projectId, nextCursor);
+      setTasks(prevTasks => {
+        const loaded = new Set(prevTasks.map(t => t.id));
+        return [...prevTasks, ...(page.items || []).filter(t => !loaded.has(t.id)).map(withDefaults)];
+      });
+      setNextCursor(page.nextCursor);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     const fetchProjectData = async () => {
       try {
@@ -70,12 +109,7 @@ const ProjectPage = () => {
           return;
         }
         setProject(projectDetails);
-        const projectTasks = await getTasksByProjectId(projectId);
-        const tasksWithDefaults = (projectTasks || []).map(task => ({
-          ...task,
-          status: task.status || "PENDING", 
-        }));
-        setTasks(tasksWithDefaults);
+        await loadTasks();
         setError(null);
       } catch (err) {
         console.error("Error al cargar datos del proyecto:", err);
@@ -106,11 +140,24 @@ const ProjectPage = () => {
       fetchProjectData();
       fetchUsersData();
     }
-  }, [projectId, navigate]);
+  }, [projectId, navigate, loadTasks]);
+
+  // Cambios en vivo de las tareas del proyecto (SSE); se cancela al salir de la página
+  useEffect(() => {
+    if (!projectId) return undefined;
+    return subscribeToProjectEvents(projectId, (type, event) => {
+      if (type === 'resync') {
+        loadTasks();
+      } else if (type.startsWith('task.') && event.payload) {
+        setTasks(prevTasks => applyTaskEvent(prevTasks, type, event.payload));
+      }
+    });
+  }, [projectId, loadTasks]);
 
   const handleTaskCreated = (newTask) => {
-    const taskWithDefaultStatus = { ...newTask, status: newTask.status || "PENDING" };
-    setTasks(prevTasks => [taskWithDefaultStatus, ...prevTasks].sort((a, b) => new Date(b.created_at) - new Date(a.created_at))); // Keep sorted if needed
+    const taskWithDefaultStatus = withDefaults(newTask);
+    // El evento task.created puede haber llegado antes que la respuesta: sin duplicar
+    setTasks(prevTasks => [taskWithDefaultStatus, ...prevTasks.filter(t => t.id !== newTask.id)]);
     toast.success(`Tarea "${taskWithDefaultStatus.title}" creada con éxito.`);
   };
   
@@ -204,6 +251,14 @@ const ProjectPage = () => {
           onNewTaskClick={handleNewTaskClick} 
         />
       )}
+
+      {nextCursor && (
+        <div className="flex justify-center mt-6">
+          <Button variant="outline" onClick={loadMoreTasks} disabled={isLoadingMore}>
+            {isLoadingMore ? 'Cargando...' : 'Cargar más tareas'}
+          </Button>
+        </div>
+      )}
       
       <CreateTaskModal
         isOpen={isCreateTaskModalOpen}
@@ -2,7 +2,7 @@ import React, { useEffect, useState } from 'react';
 import Layout from '../components/Layout';
 import ProjectCard from '../components/ProjectCard';
 import ProjectListItem from '../components/ProjectListItem';
-import { getProjects } from '../services/api';
+import { getProjectsPage } from '../services/api';
 import { Toaster, toast } from 'sonner';
 import { Folder, LayoutGrid, LayoutList } from 'lucide-react';
 import { Button } from '@/components/ui/button';
@@ -16,12 +16,16 @@ const ProjectsPage = () => {
   const [error, setError] = useState(null);
   const [viewMode, setViewMode] = useState('card');
 
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+
   useEffect(() => {
-    const fetchAllProjects = async () => {
+    const fetchFirstPage = async () => {
       try {
         setIsLoading(true);
-        const fetchedProjects = await getProjects();
-        setProjects(fetchedProjects || []);
+        const page = await getProjectsPage();
+        setProjects(page.items || []);
+        setNextCursor(page.nextCursor);
         setError(null);
       } catch (err) {
         console.error("Error al cargar todos los proyectos:", err);
@@ -33,9 +37,21 @@ const ProjectsPage = () => {
       }
     };
 
-    fetchAllProjects();
+    fetchFirstPage();
   }, []);
 
+  // Siguiente página bajo demanda, a partir del cursor de la última respuesta
+  const loadMore = async () => {
+    setIsLoadingMore(true);
+    try {
+      const page = await getProjectsPage(nextCursor);
+      setProjects((prev) => [...prev, ...(page.items || [])]);
+      setNextCursor(page.nextCursor);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   return (
     <Layout>
       <Toaster richColors position="bottom-right" />
@@ -103,6 +119,14 @@ const ProjectsPage = () => {
           </div>
         )
       )}
+
+      {!isLoading && !error && nextCursor && (
+        <div className="flex justify-center mt-8">
+          <Button variant="outline" onClick={loadMore} disabled={isLoadingMore}>
+            {isLoadingMore ? 'Cargando...' : 'Cargar más'}
+          </Button>
+        </div>
+      )}
     </Layout>
   );
 };
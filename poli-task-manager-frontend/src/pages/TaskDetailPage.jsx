@@ -1,7 +1,7 @@
 import React, { useEffect, useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
 import Layout from '../components/Layout';
-import { getTaskById, getCommentsByTaskId, getUsers, updateTask } from '../services/api';
+import { getTaskById, getCommentsPage, getUsers, patchTask } from '../services/api';
 import { Toaster, toast } from 'sonner';
 import TaskDetailHeader from '../components/task/TaskDetailHeader';
 import TaskInfoGrid from '../components/task/TaskInfoGrid';
@@ -13,6 +13,8 @@ const TaskDetailPage = () => {
   const navigate = useNavigate();
   const [task, setTask] = useState(null);
   const [comments, setComments] = useState([]);
+  const [commentsCursor, setCommentsCursor] = useState(null);
+  const [isLoadingMoreComments, setIsLoadingMoreComments] = useState(false);
   const [assignee, setAssignee] = useState(null);
   const [allUsers, setAllUsers] = useState([]);
   const [isLoading, setIsLoading] = useState(true);
@@ -24,10 +26,10 @@ const TaskDetailPage = () => {
       setIsLoading(true);
       setError(null);
       try {
-        const [taskDetails, usersList, taskComments] = await Promise.all([
+        const [taskDetails, usersList, commentsPage] = await Promise.all([
           getTaskById(taskId),
           getUsers(),
-          getCommentsByTaskId(taskId)
+          getCommentsPage(taskId)
         ]);
 
         if (!taskDetails) {
@@ -39,7 +41,8 @@ const TaskDetailPage = () => {
         }
         setTask(taskDetails);
         setAllUsers(usersList || []);
-        setComments(taskComments || []);
+        setComments(commentsPage.items || []);
+        setCommentsCursor(commentsPage.nextCursor);
 
         if (taskDetails.assignee_id) {
           const assigneeData = usersList.find(u => u.id === taskDetails.assignee_id);
@@ -61,6 +64,21 @@ const TaskDetailPage = () => {
     }
   }, [taskId, projectId, navigate]);
 
+  // Siguiente página del hilo bajo demanda, a partir del cursor de la última respuesta
+  const loadMoreComments = async () => {
+    setIsLoadingMoreComments(true);
+    try {
+      const page = await getCommentsPage(taskId, commentsCursor);
+      setComments(prevComments => {
+        const loaded = new Set(prevComments.map(c => c.id));
+        return [...prevComments, ...(page.items || []).filter(c => !loaded.has(c.id))];
+      });
+      setCommentsCursor(page.nextCursor);
+    } finally {
+      setIsLoadingMoreComments(false);
+    }
+  };
+
   const handleCommentCreated = (newComment) => {
     setComments(prevComments => [newComment, ...prevComments]);
   };
@@ -69,7 +87,7 @@ const TaskDetailPage = () => {
     const newAssigneeId = newAssigneeIdValue === "none" ? null : newAssigneeIdValue;
     setIsUpdatingTask(true);
     try {
-      const updatedTaskData = await updateTask(taskId, { assignee_id: newAssigneeId });
+      const updatedTaskData = await patchTask(taskId, { assigneeId: newAssigneeId }, task?.version);
       setTask(updatedTaskData);
       if (updatedTaskData.assignee_id) {
         const newAssigneeData = allUsers.find(u => u.id === updatedTaskData.assignee_id);
@@ -89,7 +107,7 @@ const TaskDetailPage = () => {
   const handleStatusChange = async (newStatus) => {
     setIsUpdatingTask(true);
     try {
-      const updatedTaskData = await updateTask(taskId, { status: newStatus });
+      const updatedTaskData = await patchTask(taskId, { status: newStatus }, task?.version);
       setTask(updatedTaskData);
       toast.success("Estado de la tarea actualizado.");
     } catch (err) {
@@ -103,7 +121,7 @@ const TaskDetailPage = () => {
   const handlePriorityChange = async (newPriority) => {
     setIsUpdatingTask(true);
     try {
-      const updatedTaskData = await updateTask(taskId, { priority: newPriority });
+      const updatedTaskData = await patchTask(taskId, { priority: newPriority }, task?.version);
       setTask(updatedTaskData);
       toast.success("Prioridad de la tarea actualizada.");
     } catch (err) {
@@ -117,7 +135,7 @@ const TaskDetailPage = () => {
   const handleDescriptionSave = async (newDescription) => {
     setIsUpdatingTask(true); // Consider using a different state if description updates are frequent/less critical for global lock
     try {
-      const updatedTaskData = await updateTask(taskId, { description: newDescription });
+      const updatedTaskData = await patchTask(taskId, { description: newDescription }, task?.version);
       setTask(updatedTaskData);
       toast.success("Descripción de la tarea actualizada.");
     } catch (err) {
@@ -169,6 +187,9 @@ const TaskDetailPage = () => {
           <TaskComments
             taskId={taskId}
             comments={comments}
+            hasMore={Boolean(commentsCursor)}
+            isLoadingMore={isLoadingMoreComments}
+            onLoadMore={loadMoreComments}
             onCommentCreated={handleCommentCreated}
           />
         </div>
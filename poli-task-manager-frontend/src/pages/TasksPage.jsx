@@ -5,7 +5,7 @@ import Layout from '../components/Layout';
 import TaskItem from '../components/TaskItem'; // For list view
 import TaskRow from '../components/project/TaskRow'; // For grouped view rows
 import * as CollapsiblePrimitive from "@radix-ui/react-collapsible"; // For grouped view
-import { getAllTasks, getUsers } from '../services/api';
+import { getTasksPage, getUsers } from '../services/api';
 import { Toaster, toast } from 'sonner';
 import { Button } from '@/components/ui/button';
 import { ListTodo as ListTodoIconPage, LayoutList, LayoutGrid, ChevronDown, Clock, Ban, FileSearch2, CheckCircle, XCircle, Archive } from 'lucide-react';
@@ -21,6 +21,7 @@ const statusOptionsForGrouping = [
     { value: "CLOSED", label: "Cerrada", Icon: Archive, bgColor: "bg-gray-500", textColor: "text-white" },
 ];
 
+const withDefaultStatus = (task) => ({ ...task, status: task.status || "PENDING" });
 
 const TasksPage = () => {
   const [tasks, setTasks] = useState([]);
@@ -28,6 +29,8 @@ const TasksPage = () => {
   const [isLoading, setIsLoading] = useState(true);
   const [isLoadingUsers, setIsLoadingUsers] = useState(true);
   const [error, setError] = useState(null);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const navigate = useNavigate();
   const [viewMode, setViewMode] = useState('list'); // 'list' or 'grouped'
 
@@ -49,12 +52,13 @@ const TasksPage = () => {
         setIsLoading(true);
         setIsLoadingUsers(true); // Reset user loading state too
 
-        const [fetchedTasks, fetchedUsers] = await Promise.all([
-          getAllTasks(),
+        const [firstPage, fetchedUsers] = await Promise.all([
+          getTasksPage(),
           getUsers()
         ]);
         
-        setTasks((fetchedTasks || []).map(task => ({...task, status: task.status || "PENDING"})));
+        setTasks((firstPage.items || []).map(withDefaultStatus));
+        setNextCursor(firstPage.nextCursor);
         setAllUsers(fetchedUsers || []);
         setError(null);
 
@@ -73,6 +77,18 @@ const TasksPage = () => {
     fetchData();
   }, []);
 
+  // Siguiente página bajo demanda, a partir del cursor de la última respuesta
+  const loadMore = async () => {
+    setIsLoadingMore(true);
+    try {
+      const page = await getTasksPage({ cursor: nextCursor });
+      setTasks(prev => [...prev, ...(page.items || []).map(withDefaultStatus)]);
+      setNextCursor(page.nextCursor);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const handleTaskClick = (task) => {
     // Task object here might be the full task from API
     // If TaskRow/TaskItem is passed only ID, adjust navigate call
@@ -201,6 +217,14 @@ const TasksPage = () => {
               })}
             </div>
           )}
+
+          {nextCursor && (
+            <div className="flex justify-center mt-6">
+              <Button variant="outline" onClick={loadMore} disabled={isLoadingMore}>
+                {isLoadingMore ? 'Cargando...' : 'Cargar más'}
+              </Button>
+            </div>
+          )}
         </>
       )}
     </Layout>
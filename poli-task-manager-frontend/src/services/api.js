@@ -1,8 +1,54 @@
 // src/services/api.js
 import axios from 'axios';
+import { decodeCbor } from './cbor';
 
 const API_URL = import.meta.env.VITE_API_URL;
 
+// Formato de los listados grandes (tareas, proyectos, comentarios): JSON por defecto o CBOR con
+// VITE_API_FORMAT=cbor, que no repite los nombres de campo como texto en cada fila.
+// La compresión gzip la negocia el navegador por su cuenta (Accept-Encoding)
+const LIST_FORMAT = import.meta.env.VITE_API_FORMAT === 'cbor' ? 'cbor' : 'json';
+
+const decodeListResponse = (data, headers) => {
+  const type = headers?.['content-type'] || '';
+  if (type.includes('cbor')) return decodeCbor(data);
+  const text = new TextDecoder().decode(data);
+  try {
+    return text ? JSON.parse(text) : text;
+  } catch {
+    return text;
+  }
+};
+
+const listRequest = (params) => (LIST_FORMAT === 'cbor'
+  ? {
+      params,
+      responseType: 'arraybuffer',
+      headers: { Accept: 'application/cbor' },
+      transformResponse: [decodeListResponse],
+    }
+  : { params });
+
+// Creaciones con Idempotency-Key: todos los reintentos (sin respuesta, 409 o 5xx) llevan la
+// misma clave, así que el backend devuelve la respuesta original en lugar de crear un duplicado
+const newIdempotencyKey = () => (globalThis.crypto?.randomUUID
+  ? globalThis.crypto.randomUUID()
+  : `${Date.now().toString(36)}-${Math.random().toString(36).slice(2)}`);
+
+const postIdempotent = async (url, data, config = {}, retries = 2) => {
+  const headers = { ...config.headers, 'Idempotency-Key': newIdempotencyKey() };
+  for (let attempt = 0; ; attempt++) {
+    try {
+      return await axios.post(url, data, { ...config, headers });
+    } catch (err) {
+      const status = err.response?.status;
+      const retryable = !err.response || status === 409 || status >= 500;
+      if (!retryable || attempt >= retries) throw err;
+      await new Promise((resolve) => setTimeout(resolve, 500 * 2 ** attempt));
+    }
+  }
+};
+
 // ---------------- USERS ----------------
 export const getUsers = async () => {
   try {
@@ -65,16 +111,27 @@ export const login = async (email, password) => {
 
 
 // ---------------- PROJECTS ----------------
+// Primera página de proyectos; las vistas que listan todos usan getProjectsPage con el cursor
 export const getProjects = async () => {
   try {
-    const res = await axios.get(`${API_URL}/api/projects`);
-    return res.data;
+    const res = await axios.get(`${API_URL}/api/projects`, listRequest());
+    return res.data.items;
   } catch (err) {
     console.error("Error en getProjects:", err);
     return [];
   }
 };
 
+export const getProjectsPage = async (cursor = null, size) => {
+  try {
+    const res = await axios.get(`${API_URL}/api/projects`, listRequest({ cursor, size }));
+    return res.data;
+  } catch (err) {
+    console.error("Error en getProjectsPage:", err);
+    return { items: [], nextCursor: null, hasMore: false };
+  }
+};
+
 export const getProjectById = async (id) => {
   try {
     const res = await axios.get(`${API_URL}/api/projects/${id}`);
@@ -107,19 +164,23 @@ export const createProject = async (project) => {
 
 
 // ---------------- TASKS ----------------
-export const getAllTasks = async () => {
+// El backend pagina por cursor: las listas piden la página siguiente bajo demanda
+// con el nextCursor de la respuesta anterior
+export const getTasksPage = async (params = {}) => {
   try {
-    const res = await axios.get(`${API_URL}/api/tasks`);
+    const res = await axios.get(`${API_URL}/api/tasks`, listRequest(params));
     return res.data;
   } catch (err) {
-    console.error("Error en getAllTasks:", err);
-    return [];
+    console.error("Error en getTasksPage:", err);
+    return { items: [], nextCursor: null, hasMore: false };
   }
 };
 
-export const getTaskById = async (id) => {
+// expand: relaciones a incluir, p. ej. ['project', 'assignee', 'comments'] para la vista de detalle
+export const getTaskById = async (id, expand = []) => {
   try {
-    const res = await axios.get(`${API_URL}/api/tasks/${id}`);
+    const params = expand.length ? { expand: expand.join(',') } : undefined;
+    const res = await axios.get(`${API_URL}/api/tasks/${id}`, { params });
     return res.data;
   } catch (err) {
     console.error(`Error en getTaskById(${id}):`, err);
@@ -127,13 +188,15 @@ export const getTaskById = async (id) => {
   }
 };
 
-export const getTasksByProjectId = async (projectId) => {
+// Una página de las tareas del proyecto; la siguiente se pide con el nextCursor
+// de la respuesta cuando el usuario la solicita
+export const getProjectTasksPage = async (projectId, cursor = null, params = {}) => {
   try {
-    const res = await axios.get(`${API_URL}/api/tasks/project/${projectId}`);
+    const res = await axios.get(`${API_URL}/api/tasks/project/${projectId}`, listRequest({ ...params, cursor }));
     return res.data;
   } catch (err) {
-    console.error(`Error en getTasksByProjectId(${projectId}):`, err);
-    return [];
+    console.error(`Error en getProjectTasksPage(${projectId}):`, err);
+    return { items: [], nextCursor: null, hasMore: false };
   }
 };
 
@@ -141,7 +204,7 @@ export const getTasksByProjectId = async (projectId) => {
 
 export const createTask = async (task) => {
   try {
-    const res = await axios.post(`${API_URL}/api/tasks`, task, {
+    const res = await postIdempotent(`${API_URL}/api/tasks`, task, {
       headers: {
         'Content-Type': 'application/json'
       }
@@ -157,30 +220,48 @@ export const createTask = async (task) => {
 
 
 
-export const updateTask = async (taskId, updates) => {
+// Con version (la de la tarea cargada) el backend rechaza con 412 si otro la modificó antes
+export const updateTask = async (taskId, updates, version) => {
   try {
-    const res = await axios.put(`${API_URL}/api/tasks/${taskId}`, updates);
+    const headers = version != null ? { 'If-Match': `"${version}"` } : {};
+    const res = await axios.put(`${API_URL}/api/tasks/${taskId}`, updates, { headers });
     return res.data;
   } catch (err) {
     console.error(`Error en updateTask(${taskId}):`, err);
+    if (err.response?.status === 412) throw err;
+    return null;
+  }
+};
+
+// Solo envía los campos que cambian (JSON Merge Patch); null vacía el campo
+export const patchTask = async (taskId, changes, version) => {
+  try {
+    const headers = { 'Content-Type': 'application/merge-patch+json' };
+    if (version != null) headers['If-Match'] = `"${version}"`;
+    const res = await axios.patch(`${API_URL}/api/tasks/${taskId}`, changes, { headers });
+    return res.data;
+  } catch (err) {
+    console.error(`Error en patchTask(${taskId}):`, err);
+    if (err.response?.status === 412) throw err;
     return null;
   }
 };
 
 // ---------------- COMMENTS ----------------
-export const getCommentsByTaskId = async (taskId) => {
+// Página del hilo en orden cronológico; la siguiente con after = nextCursor
+export const getCommentsPage = async (taskId, after = null, size) => {
   try {
-    const res = await axios.get(`${API_URL}/api/comments/task/${taskId}`);
+    const res = await axios.get(`${API_URL}/api/comments/task/${taskId}`, listRequest({ after, size }));
     return res.data;
   } catch (err) {
-    console.error(`Error en getCommentsByTaskId(${taskId}):`, err);
-    return [];
+    console.error(`Error en getCommentsPage(${taskId}):`, err);
+    return { items: [], nextCursor: null, hasMore: false };
   }
 };
 
 export const createComment = async (comment) => {
   try {
-    const res = await axios.post(`${API_URL}/api/comments`, comment);
+    const res = await postIdempotent(`${API_URL}/api/comments`, comment);
     return res.data;
   } catch (err) {
     console.error("Error en createComment:", err);
@@ -188,6 +269,57 @@ export const createComment = async (comment) => {
   }
 };
 
+// ---------------- EVENTOS EN VIVO ----------------
+// Suscripción SSE a los cambios de un proyecto. Se usa fetch en lugar de
+// EventSource para poder enviar el token; al reconectar se reenvía
+// Last-Event-ID y el servidor repite los eventos perdidos.
+export const subscribeToProjectEvents = (projectId, onEvent) => {
+  const controller = new AbortController();
+  let lastEventId = null;
+
+  const connect = async () => {
+    while (!controller.signal.aborted) {
+      try {
+        const headers = { Accept: 'text/event-stream' };
+        const token = localStorage.getItem('token');
+        if (token) headers.Authorization = `Bearer ${token}`;
+        if (lastEventId) headers['Last-Event-ID'] = lastEventId;
+
+        const res = await fetch(`${API_URL}/api/projects/${projectId}/events`, {
+          headers,
+          signal: controller.signal
+        });
+        const reader = res.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          const frames = buffer.split('\n\n');
+          buffer = frames.pop();
+          for (const frame of frames) {
+            let id = null, type = 'message', data = '';
+            for (const line of frame.split('\n')) {
+              if (line.startsWith('id:')) id = line.slice(3).trim();
+              else if (line.startsWith('event:')) type = line.slice(6).trim();
+              else if (line.startsWith('data:')) data += line.slice(5);
+            }
+            if (id) lastEventId = id;
+            if (data) onEvent(type, JSON.parse(data));
+          }
+        }
+      } catch (err) {
+        if (controller.signal.aborted) return;
+        console.error(`Error en subscribeToProjectEvents(${projectId}):`, err);
+      }
+      await new Promise(resolve => setTimeout(resolve, 3000));
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
 // ---------------- PROJECT USERS ----------------
 export const getProjectUsers = async (projectId) => {
   try {
@@ -199,13 +331,36 @@ export const getProjectUsers = async (projectId) => {
   }
 };
 
-// ---------------- BUSQUEDA ----------------
-export const searchAll = async (query) => {
+// ---------------- ACTIVIDAD ----------------
+// Historial del proyecto (más reciente primero); cursor = nextCursor de la página anterior
+export const getProjectActivity = async (projectId, cursor = null, size) => {
   try {
-    const res = await axios.get(`${API_URL}/api/search?q=${query}`);
+    const res = await axios.get(`${API_URL}/api/projects/${projectId}/activity`, { params: { cursor, size } });
     return res.data;
+  } catch (err) {
+    console.error(`Error en getProjectActivity(${projectId}):`, err);
+    return { items: [], nextCursor: null, hasMore: false };
+  }
+};
+
+// ---------------- BUSQUEDA ----------------
+// El backend devuelve resultados ordenados por relevancia; se agrupan por tipo
+export const searchAll = async (query, page = 0, size = 50) => {
+  try {
+    const res = await axios.get(`${API_URL}/api/search`, { params: { q: query, page, size } });
+    const hits = res.data.hits || [];
+    return {
+      projects: hits
+        .filter(hit => hit.type === 'project')
+        .map(hit => ({ id: hit.id, name: hit.title, description: hit.snippet })),
+      tasks: hits
+        .filter(hit => hit.type === 'task')
+        .map(hit => ({ id: hit.id, project_id: hit.projectId, title: hit.title, description: hit.snippet })),
+      comments: hits.filter(hit => hit.type === 'comment'),
+      total: res.data.total
+    };
   } catch (err) {
     console.error(`Error en searchAll(${query}):`, err);
-    return [];
+    return { projects: [], tasks: [], comments: [], total: 0 };
   }
 };
@@ -0,0 +1,97 @@
+// src/services/cbor.js
+// Decodificador CBOR (RFC 8949) mínimo para las respuestas del backend con Accept: application/cbor.
+// Cubre lo que genera Jackson: enteros, textos, bytes, arrays y mapas (también de longitud
+// indefinida, que es como Jackson escribe los objetos), booleanos, null y floats de 16/32/64 bits.
+// Las etiquetas (tags) se ignoran y se devuelve el valor que envuelven.
+
+export const decodeCbor = (buffer) => {
+  const bytes = buffer instanceof Uint8Array ? buffer : new Uint8Array(buffer);
+  const view = new DataView(bytes.buffer, bytes.byteOffset, bytes.byteLength);
+  const text = new TextDecoder();
+  let offset = 0;
+
+  const BREAK = Symbol('break');
+
+  const readLength = (info) => {
+    if (info < 24) return info;
+    if (info === 24) return view.getUint8(offset++);
+    if (info === 25) { const v = view.getUint16(offset); offset += 2; return v; }
+    if (info === 26) { const v = view.getUint32(offset); offset += 4; return v; }
+    if (info === 27) { const v = Number(view.getBigUint64(offset)); offset += 8; return v; }
+    if (info === 31) return -1; // longitud indefinida
+    throw new Error(`CBOR: longitud no válida (${info})`);
+  };
+
+  const readHalf = () => {
+    const half = view.getUint16(offset);
+    offset += 2;
+    const exp = (half >> 10) & 0x1f;
+    const mant = half & 0x3ff;
+    const sign = half & 0x8000 ? -1 : 1;
+    if (exp === 0) return sign * 2 ** -14 * (mant / 1024);
+    if (exp === 31) return mant ? NaN : sign * Infinity;
+    return sign * 2 ** (exp - 15) * (1 + mant / 1024);
+  };
+
+  const readChunks = (major, length) => {
+    if (length >= 0) {
+      const chunk = bytes.subarray(offset, offset + length);
+      offset += length;
+      return major === 3 ? text.decode(chunk) : chunk.slice();
+    }
+    const parts = [];
+    for (let part = readItem(); part !== BREAK; part = readItem()) parts.push(part);
+    if (major === 3) return parts.join('');
+    const joined = new Uint8Array(parts.reduce((n, p) => n + p.length, 0));
+    parts.reduce((at, p) => { joined.set(p, at); return at + p.length; }, 0);
+    return joined;
+  };
+
+  const readItem = () => {
+    const initial = view.getUint8(offset++);
+    const major = initial >> 5;
+    const info = initial & 0x1f;
+
+    switch (major) {
+      case 0: return readLength(info);
+      case 1: return -1 - readLength(info);
+      case 2:
+      case 3: return readChunks(major, readLength(info));
+      case 4: {
+        const length = readLength(info);
+        const array = [];
+        if (length >= 0) {
+          for (let i = 0; i < length; i++) array.push(readItem());
+        } else {
+          for (let item = readItem(); item !== BREAK; item = readItem()) array.push(item);
+        }
+        return array;
+      }
+      case 5: {
+        const length = readLength(info);
+        const map = {};
+        if (length >= 0) {
+          for (let i = 0; i < length; i++) { const key = readItem(); map[key] = readItem(); }
+        } else {
+          for (let key = readItem(); key !== BREAK; key = readItem()) map[key] = readItem();
+        }
+        return map;
+      }
+      case 6: readLength(info); return readItem();
+      default:
+        switch (info) {
+          case 20: return false;
+          case 21: return true;
+          case 22:
+          case 23: return null;
+          case 25: return readHalf();
+          case 26: { const v = view.getFloat32(offset); offset += 4; return v; }
+          case 27: { const v = view.getFloat64(offset); offset += 8; return v; }
+          case 31: return BREAK;
+          default: return info < 24 ? info : readLength(info);
+        }
+    }
+  };
+
+  return bytes.length ? readItem() : null;
+};